@@ -0,0 +1,119 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.LocalSiteServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory WebDriver over a generated product catalogue, used to measure framework-side overhead
+ * without a browser. Every product is both an inventory row and a cart row.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private final List<WebElement> names = new ArrayList<>();
+    private final List<WebElement> prices = new ArrayList<>();
+    private final List<List<Object>> snapshotRows = new ArrayList<>();
+
+    public FakeWebDriver(int products) {
+        for (LocalSiteServer.Product product : LocalSiteServer.generatedCatalogue(products)) {
+            names.add(new FakeWebElement(product.getName()));
+            prices.add(new FakeWebElement("$" + product.getPriceText()));
+            List<Object> row = new ArrayList<>();
+            row.add(product.getName());
+            row.add("$" + product.getPriceText());
+            row.add("add-to-cart-" + product.getSlug());
+            snapshotRows.add(Collections.unmodifiableList(row));
+        }
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Swag Labs";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        String locator = by.toString();
+        if (locator.endsWith("inventory_item_name")) {
+            return names;
+        }
+        if (locator.endsWith("inventory_item_price")) {
+            return prices;
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return new FakeWebElement("Products");
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("fake");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    /**
+     * Answers the BasePage snapshot script with the catalogue rows; other scripts return null
+     */
+    @Override
+    public Object executeScript(String script, Object... args) {
+        if (script.contains("result.push")) {
+            return snapshotRows;
+        }
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory WebElement that is always displayed and enabled and returns fixed text
+ */
+public class FakeWebElement implements WebElement {
+    private final String text;
+
+    public FakeWebElement(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public void click() {
+    }
+
+    @Override
+    public void submit() {
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public String getTagName() {
+        return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return new FakeWebElement(text);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("Screenshots are not supported by FakeWebElement");
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebElement[" + text + "]";
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.CartPage;
+import com.automation.pages.LoginPage;
+import com.automation.pages.ProductsPage;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.DriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures framework-side cost of page objects, configuration and driver access against FakeWebDriver.
+ * Run with: mvn -Pbenchmark test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrameworkOverheadBenchmark {
+
+    @Param({"6", "100", "1000"})
+    public int products;
+
+    private WebDriver driver;
+    private LoginPage loginPage;
+    private ProductsPage productsPage;
+    private CartPage cartPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new FakeWebDriver(products);
+        DriverManager.setDriver(driver);
+        loginPage = new LoginPage();
+        productsPage = new ProductsPage();
+        cartPage = new CartPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Benchmark
+    public ProductsPage pageConstruction() {
+        return new ProductsPage();
+    }
+
+    @Benchmark
+    public int configLookup() {
+        return ConfigReader.getExplicitWait();
+    }
+
+    @Benchmark
+    public WebDriver driverThreadLocalAccess() {
+        return DriverManager.getDriver();
+    }
+
+    @Benchmark
+    public void clickElementWithLogging() {
+        loginPage.clickLoginButton();
+    }
+
+    @Benchmark
+    public void enterTextWithLogging() {
+        loginPage.enterUsername("standard_user");
+    }
+
+    @Benchmark
+    public List<String> productNamesSnapshot() {
+        return productsPage.getAllProductNames();
+    }
+
+    @Benchmark
+    public List<Double> productPricesSnapshot() {
+        return productsPage.getAllProductPrices();
+    }
+
+    @Benchmark
+    public List<String> productNamesPerElement() {
+        return driver.findElements(By.className("inventory_item_name")).stream()
+                .map(WebElement::getText)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> cartItemNamesSnapshot() {
+        return cartPage.getAllCartItemNames();
+    }
+}
@@ -0,0 +1,66 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.LoginPage;
+import com.automation.utils.DriverManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures logging cost of a login step (three page-object calls) against FakeWebDriver, with the
+ * synchronous logger context and with the asynchronous one configured in log4j2.component.properties.
+ * Four threads stand in for parallel scenarios contending on the appenders.
+ * Run with: mvn -Pbenchmark test -Djmh.include=LoggingOverheadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@State(Scope.Thread)
+public class LoggingOverheadBenchmark {
+    private LoginPage loginPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManager.setDriver(new FakeWebDriver(6));
+        ThreadContext.put("scenarioLog", "logging_benchmark_" + Thread.currentThread().getId());
+        loginPage = new LoginPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+        ThreadContext.remove("scenarioLog");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend =
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector")
+    public void loginStepSynchronousLogging() {
+        loginStep();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public void loginStepAsynchronousLogging() {
+        loginStep();
+    }
+
+    private void loginStep() {
+        loginPage.login("standard_user", "secret_sauce");
+    }
+}
@@ -0,0 +1,107 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.LoginPage;
+import com.automation.pages.ProductsPage;
+import com.automation.utils.DriverManager;
+import com.automation.utils.LocalSiteServer;
+import com.automation.utils.TrafficInterceptor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Checks network interception against the local site: each run opens a fresh Chrome session, logs in
+ * and loads the inventory, first without and then with interception. With interception the tracker
+ * must never reach the server and the static assets must be fetched only once across all sessions.
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.NetworkInterceptionBenchmark -Dbenchmark.iterations=5
+ */
+public class NetworkInterceptionBenchmark {
+    private static final Logger logger = LogManager.getLogger(NetworkInterceptionBenchmark.class);
+    private static final String[] PATHS = {"/analytics/track.js", "/static/site.js", "/static/site.css"};
+
+    public static void main(String[] args) throws IOException {
+        int iterations = Integer.parseInt(System.getProperty("benchmark.iterations", "5"));
+        Path cacheDir = Files.createTempDirectory("network-cache");
+        System.setProperty("browser", "chrome");
+        System.setProperty("network.cache.dir", cacheDir.toString());
+        System.setProperty("network.block.patterns", "/analytics/");
+
+        LocalSiteServer site = new LocalSiteServer();
+        System.setProperty("app.url", site.start(0));
+        try {
+            System.setProperty("network.interception.enabled", "false");
+            int[] before = requestCounts(site);
+            double plainMillis = averageMillis(iterations, false);
+            int[] plain = difference(requestCounts(site), before);
+
+            System.setProperty("network.interception.enabled", "true");
+            before = requestCounts(site);
+            double interceptedMillis = averageMillis(iterations, true);
+            int[] intercepted = difference(requestCounts(site), before);
+
+            logger.info("Sessions per run: {}", iterations);
+            logger.info("Without interception: tracker={}, site.js={}, site.css={} requests, {} ms per session",
+                    plain[0], plain[1], plain[2], String.format("%.1f", plainMillis));
+            logger.info("With interception:    tracker={}, site.js={}, site.css={} requests, {} ms per session",
+                    intercepted[0], intercepted[1], intercepted[2], String.format("%.1f", interceptedMillis));
+
+            if (intercepted[0] != 0) {
+                throw new IllegalStateException("Blocked tracker reached the server " + intercepted[0] + " times");
+            }
+            if (intercepted[1] > 1 || intercepted[2] > 1) {
+                throw new IllegalStateException("Cached static assets were fetched more than once");
+            }
+        } finally {
+            site.stop();
+        }
+    }
+
+    private static double averageMillis(int iterations, boolean intercepted) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            DriverManager.initializeDriver();
+            TrafficInterceptor interceptor = DriverManager.getTrafficInterceptor();
+            if (intercepted && interceptor == null) {
+                throw new IllegalStateException("Network interception did not start");
+            }
+            if (interceptor != null) {
+                interceptor.startScenario();
+            }
+            try {
+                LoginPage loginPage = new LoginPage();
+                loginPage.navigateToLoginPage();
+                loginPage.login("standard_user", "secret_sauce");
+                if (!new ProductsPage().isOnProductsPage()) {
+                    throw new IllegalStateException("Login to local site failed");
+                }
+                if (interceptor != null) {
+                    logger.info("Session {}:\n{}", i + 1, interceptor.getScenarioSummary());
+                }
+            } finally {
+                DriverManager.quitDriver();
+            }
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    private static int[] requestCounts(LocalSiteServer site) {
+        int[] counts = new int[PATHS.length];
+        for (int i = 0; i < PATHS.length; i++) {
+            counts[i] = site.getRequestCount(PATHS[i]);
+        }
+        return counts;
+    }
+
+    private static int[] difference(int[] after, int[] before) {
+        int[] difference = new int[after.length];
+        for (int i = 0; i < after.length; i++) {
+            difference[i] = after[i] - before[i];
+        }
+        return difference;
+    }
+}
@@ -0,0 +1,229 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.CucumberJsonMerger;
+import com.automation.utils.ShutdownHooks;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the streaming CucumberJsonMerger with loading every report into memory, the way
+ * maven-cucumber-reporting reads its inputs. Synthetic reports are generated first: one per shard,
+ * each feature with ten scenarios of five steps after a one-step Background, every tenth scenario
+ * failed with an embedded screenshot and every fiftieth failed in its Background. Peak heap is measured
+ * with the JVM's memory pool peaks, and the results are written to RESULT_FILE.
+ * Runs with the benchmark profile (mvn test -Pbenchmark), or on its own with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.ReportMergeBenchmark -Dbenchmark.scenarios=5000
+ */
+public class ReportMergeBenchmark {
+    private static final Logger logger = LogManager.getLogger(ReportMergeBenchmark.class);
+    private static final int SCENARIOS_PER_FEATURE = 10;
+    private static final int STEPS_PER_SCENARIO = 5;
+    private static final Path RESULT_FILE = Paths.get("target/perf-reports/report-merge-benchmark.json");
+    private static final List<Object> retained = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        ShutdownHooks.install();
+        int scenarios = Integer.parseInt(System.getProperty("benchmark.scenarios", "5000"));
+        int shards = Integer.parseInt(System.getProperty("benchmark.shards", "8"));
+        int screenshotBytes = Integer.parseInt(System.getProperty("benchmark.screenshot.bytes", "200000"));
+        Path directory = Files.createTempDirectory("report-merge");
+
+        List<Path> reports = generate(directory.resolve("input"), scenarios, shards, screenshotBytes);
+        long inputBytes = 0;
+        for (Path report : reports) {
+            inputBytes += Files.size(report);
+        }
+        logger.info("Generated {} scenarios in {} reports, {} MB", scenarios, reports.size(), inputBytes >> 20);
+
+        resetPeaks();
+        long start = System.nanoTime();
+        int loadedFeatures = 0;
+        for (Path report : reports) {
+            try (Reader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+                List<Object> features = new Json().toType(reader, Json.LIST_OF_MAPS_TYPE);
+                loadedFeatures += features.size();
+                // Keep every report, as a reporter that renders all features at once has to
+                retained.add(features);
+            }
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        long loadPeak = heapPeak();
+        retained.clear();
+
+        resetPeaks();
+        start = System.nanoTime();
+        CucumberJsonMerger merger = new CucumberJsonMerger(directory.resolve("attachments"), "attachments/", 4096);
+        Map<String, Object> summary = merger.merge(reports, directory.resolve("cucumber.json"));
+        long mergeMillis = (System.nanoTime() - start) / 1_000_000;
+        long mergePeak = heapPeak();
+
+        logger.info("Load all into memory: {} features in {} ms, peak heap {} MB", loadedFeatures, loadMillis,
+                loadPeak >> 20);
+        logger.info("Streaming merge:      {} features in {} ms, peak heap {} MB, merged report {} MB",
+                summary.get("features"), mergeMillis, mergePeak >> 20, (long) summary.get("outputBytes") >> 20);
+        logger.info("Merge summary: {}", summary);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenarios", scenarios);
+        result.put("reports", reports.size());
+        result.put("inputBytes", inputBytes);
+        result.put("loadAllMs", loadMillis);
+        result.put("loadAllPeakHeapBytes", loadPeak);
+        result.put("streamingMergeMs", mergeMillis);
+        result.put("streamingMergePeakHeapBytes", mergePeak);
+        result.put("mergedBytes", summary.get("outputBytes"));
+        Files.createDirectories(RESULT_FILE.toAbsolutePath().getParent());
+        Files.write(RESULT_FILE, new Json().toJson(result).getBytes(StandardCharsets.UTF_8));
+        logger.info("Results written to {}", RESULT_FILE);
+
+        long expectedFailures = 0;
+        for (int scenario = 0; scenario < scenarios; scenario++) {
+            if (isFailed(scenario) || isBackgroundFailed(scenario)) {
+                expectedFailures++;
+            }
+        }
+        Object failed = ((Map<?, ?>) summary.get("scenarioStatuses")).get("failed");
+        if (!Long.valueOf(expectedFailures).equals(failed)
+                || !Long.valueOf(scenarios).equals(summary.get("scenarios"))) {
+            throw new IllegalStateException("Merged report does not match the generated scenarios");
+        }
+    }
+
+    /**
+     * Write one report per shard; identical screenshots are used every other failure to exercise deduplication
+     */
+    private static List<Path> generate(Path directory, int scenarios, int shards, int screenshotBytes)
+            throws IOException {
+        Files.createDirectories(directory);
+        Random random = new Random(42);
+        byte[] repeated = new byte[screenshotBytes];
+        random.nextBytes(repeated);
+
+        List<Path> reports = new ArrayList<>();
+        int featureCount = (scenarios + SCENARIOS_PER_FEATURE - 1) / SCENARIOS_PER_FEATURE;
+        for (int shard = 0; shard < shards; shard++) {
+            Path report = directory.resolve("cucumber-shard-" + (shard + 1) + "-of-" + shards + ".json");
+            try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8);
+                 JsonOutput out = new Json().newOutput(writer)) {
+                out.setPrettyPrint(false);
+                out.beginArray();
+                for (int feature = shard; feature < featureCount; feature += shards) {
+                    int first = feature * SCENARIOS_PER_FEATURE;
+                    int last = Math.min(first + SCENARIOS_PER_FEATURE, scenarios);
+                    writeFeature(out, feature, first, last, random, repeated);
+                }
+                out.endArray();
+            }
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private static void writeFeature(JsonOutput out, int feature, int first, int last, Random random,
+                                     byte[] repeated) {
+        out.beginObject();
+        out.name("uri").write("classpath:features/Generated" + feature + ".feature");
+        out.name("id").write("generated-" + feature);
+        out.name("keyword").write("Feature");
+        out.name("name").write("Generated feature " + feature);
+        out.name("elements").beginArray();
+        for (int scenario = first; scenario < last; scenario++) {
+            boolean backgroundFailed = isBackgroundFailed(scenario);
+            boolean failed = isFailed(scenario);
+            out.beginObject();
+            out.name("keyword").write("Background");
+            out.name("name").write("");
+            out.name("line").write(2);
+            out.name("type").write("background");
+            out.name("steps").beginArray();
+            out.beginObject();
+            out.name("keyword").write("Given ");
+            out.name("name").write("the generated background");
+            out.name("line").write(3);
+            out.name("result").write(Map.of("status", backgroundFailed ? "failed" : "passed",
+                    "duration", 1_000_000L + random.nextInt(5_000_000)));
+            out.endObject();
+            out.endArray();
+            out.endObject();
+
+            out.beginObject();
+            out.name("id").write("generated-" + feature + ";scenario-" + scenario);
+            out.name("keyword").write("Scenario");
+            out.name("name").write("Scenario " + scenario);
+            out.name("line").write(scenario - first + 3);
+            out.name("type").write("scenario");
+            out.name("steps").beginArray();
+            for (int step = 0; step < STEPS_PER_SCENARIO; step++) {
+                boolean failedStep = failed && step == STEPS_PER_SCENARIO - 1;
+                String status = backgroundFailed ? "skipped" : failedStep ? "failed" : "passed";
+                out.beginObject();
+                out.name("keyword").write("Then ");
+                out.name("name").write("step " + step + " of scenario " + scenario);
+                out.name("line").write(scenario - first + 4 + step);
+                out.name("result").write(Map.of("status", status,
+                        "duration", 1_000_000L + random.nextInt(50_000_000)));
+                if (failedStep) {
+                    byte[] screenshot = repeated;
+                    if (scenario % 20 == 9) {
+                        screenshot = new byte[repeated.length];
+                        random.nextBytes(screenshot);
+                    }
+                    out.name("embeddings").beginArray();
+                    out.write(Map.of("mime_type", "image/png", "name", "screenshot",
+                            "data", Base64.getEncoder().encodeToString(screenshot)));
+                    out.endArray();
+                }
+                out.endObject();
+            }
+            out.endArray();
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private static boolean isFailed(int scenario) {
+        return scenario % 10 == 9;
+    }
+
+    private static boolean isBackgroundFailed(int scenario) {
+        return scenario % 50 == 24;
+    }
+
+    private static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,75 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.LoginPage;
+import com.automation.pages.ProductsPage;
+import com.automation.utils.DriverManager;
+import com.automation.utils.LocalSiteServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares per-element getText() extraction with the single-call snapshot against the local site.
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.SnapshotBenchmark -Dbenchmark.products=500
+ */
+public class SnapshotBenchmark {
+    private static final Logger logger = LogManager.getLogger(SnapshotBenchmark.class);
+
+    public static void main(String[] args) {
+        int products = Integer.parseInt(System.getProperty("benchmark.products", "500"));
+        int iterations = Integer.parseInt(System.getProperty("benchmark.iterations", "20"));
+
+        LocalSiteServer site = new LocalSiteServer(LocalSiteServer.generatedCatalogue(products));
+        System.setProperty("app.url", site.start(0));
+        DriverManager.initializeDriver();
+        try {
+            LoginPage loginPage = new LoginPage();
+            loginPage.navigateToLoginPage();
+            loginPage.login("standard_user", "secret_sauce");
+            ProductsPage productsPage = new ProductsPage();
+            if (!productsPage.isOnProductsPage()) {
+                throw new IllegalStateException("Login to local site failed");
+            }
+            WebDriver driver = DriverManager.getDriver();
+
+            Supplier<List<String>> perElement = () -> driver.findElements(By.className("inventory_item_name"))
+                    .stream()
+                    .map(WebElement::getText)
+                    .toList();
+            Supplier<List<String>> snapshot = productsPage::getAllProductNames;
+
+            int rows = perElement.get().size();
+            if (!perElement.get().equals(snapshot.get())) {
+                throw new IllegalStateException("Snapshot and per-element extraction disagree");
+            }
+
+            double perElementMillis = averageMillis(perElement, iterations);
+            double snapshotMillis = averageMillis(snapshot, iterations);
+
+            logger.info("Rows: {}, iterations: {}", rows, iterations);
+            logger.info("Per-element: {} WebDriver commands, {} ms per extraction",
+                    rows + 1, String.format("%.1f", perElementMillis));
+            logger.info("Snapshot:    1 WebDriver command, {} ms per extraction",
+                    String.format("%.1f", snapshotMillis));
+        } finally {
+            DriverManager.quitDriver();
+            site.stop();
+        }
+    }
+
+    private static double averageMillis(Supplier<List<String>> extraction, int iterations) {
+        extraction.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            extraction.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+}
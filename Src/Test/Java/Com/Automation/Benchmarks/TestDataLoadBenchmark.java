@@ -0,0 +1,117 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ExcelRowReader;
+import com.automation.utils.ShutdownHooks;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares reading a users sheet with ExcelRowReader against opening the workbook with XSSFWorkbook,
+ * for growing row counts. The sheet is generated with SXSSFWorkbook, so generation does not need the
+ * whole sheet in memory either. Peak heap is measured with the JVM's memory pool peaks.
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.automation.benchmarks.TestDataLoadBenchmark -Dbenchmark.rows=1000,10000,100000
+ */
+public class TestDataLoadBenchmark {
+    private static final Logger logger = LogManager.getLogger(TestDataLoadBenchmark.class);
+    private static Workbook retained;
+
+    public static void main(String[] args) throws IOException {
+        ShutdownHooks.install();
+        String[] rowCounts = System.getProperty("benchmark.rows", "1000,10000,100000").split(",");
+        Path directory = Files.createTempDirectory("test-data");
+
+        for (String rowCount : rowCounts) {
+            int rows = Integer.parseInt(rowCount.trim());
+            Path file = generate(directory.resolve("users-" + rows + ".xlsx"), rows);
+
+            resetPeaks();
+            long start = System.nanoTime();
+            AtomicLong streamed = new AtomicLong();
+            ExcelRowReader.read(file, "users", row -> streamed.incrementAndGet());
+            long streamMillis = (System.nanoTime() - start) / 1_000_000;
+            long streamPeak = heapPeak();
+
+            resetPeaks();
+            start = System.nanoTime();
+            try (XSSFWorkbook workbook = new XSSFWorkbook(file.toFile())) {
+                retained = workbook;
+                long loaded = workbook.getSheet("users").getLastRowNum();
+                long loadMillis = (System.nanoTime() - start) / 1_000_000;
+                long loadPeak = heapPeak();
+                logger.info("{} rows ({} KB): ExcelRowReader {} rows in {} ms, peak heap {} MB; "
+                                + "XSSFWorkbook {} rows in {} ms, peak heap {} MB",
+                        rows, Files.size(file) >> 10, streamed.get(), streamMillis, streamPeak >> 20,
+                        loaded, loadMillis, loadPeak >> 20);
+            } catch (InvalidFormatException e) {
+                throw new IllegalStateException("Generated workbook is invalid: " + file, e);
+            } finally {
+                retained = null;
+            }
+
+            if (streamed.get() != rows) {
+                throw new IllegalStateException("Streamed " + streamed.get() + " of " + rows + " rows");
+            }
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Write a users sheet in the layout TestDataRepository reads, keeping 100 rows in memory at a time
+     */
+    private static Path generate(Path file, int rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("users");
+            writeRow(sheet.createRow(0), "key", "username", "password", "role");
+            for (int i = 1; i <= rows; i++) {
+                writeRow(sheet.createRow(i), "user_" + i, "generated_user_" + i, "secret_" + i,
+                        i % 10 == 0 ? "locked" : "standard");
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        return file;
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
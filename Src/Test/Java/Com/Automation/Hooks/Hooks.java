@@ -1,29 +1,71 @@
 package com.automation.hooks;
 
+import com.automation.utils.CommandMetrics;
+import com.automation.utils.ConfigReader;
 import com.automation.utils.DriverManager;
+import com.automation.utils.ScenarioContext;
+import com.automation.utils.ScreenshotPipeline;
+import com.automation.utils.TrafficInterceptor;
+import com.automation.utils.WaitEngine;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+import org.testng.SkipException;
 
 /**
- * Cucumber Hooks for setup and teardown operations
+ * Cucumber Hooks for setup and teardown operations.
+ * A new instance is created for every scenario, so instance state is scenario-scoped.
  */
 public class Hooks {
     private static final Logger logger = LogManager.getLogger(Hooks.class);
+    private static final String SCENARIO_LOG_KEY = "scenarioLog";
+    private static final String SCENARIO_LOG_PATH = "../logs/scenarios/";
+    private WebDriver scenarioDriver;
+    private Thread scenarioThread;
+
+    /**
+     * Before hook - skips @local scenarios, which need the embedded local site, when app.mode is not local
+     */
+    @Before(value = "@local", order = 1)
+    public void requireLocalMode(Scenario scenario) {
+        if (!ConfigReader.isLocalMode()) {
+            throw new SkipException("Scenario '" + scenario.getName() + "' needs app.mode=local");
+        }
+    }
 
     /**
      * Before hook - runs before each scenario
      */
     @Before
     public void setUp(Scenario scenario) {
+        ThreadContext.put(SCENARIO_LOG_KEY, getScenarioLogName(scenario));
         logger.info("========================================");
         logger.info("Starting scenario: {}", scenario.getName());
         logger.info("========================================");
+        ScenarioContext.set(scenario);
+        int retryAttempt = ScenarioContext.getRetryAttempt();
+        if (retryAttempt > 0) {
+            // Lets the report merger tell this run apart from the attempt it supersedes
+            scenario.attach("Retry " + retryAttempt + " of " + ConfigReader.getRetryCount(), "text/plain",
+                    ScenarioContext.RETRY_ATTEMPT_ATTACHMENT);
+        }
+        WaitEngine.resetScenarioWaitTime();
+        CommandMetrics.startScenario();
         DriverManager.initializeDriver();
+        scenarioDriver = DriverManager.getDriver();
+        scenarioThread = Thread.currentThread();
+        TrafficInterceptor interceptor = DriverManager.getTrafficInterceptor();
+        if (interceptor != null) {
+            interceptor.startScenario();
+        }
+        if (ConfigReader.isLeakCheckEnabled() && !scenarioDriver.manage().getCookies().isEmpty()) {
+            throw new IllegalStateException("Scenario '" + scenario.getName()
+                    + "' started with cookies left over from a previous scenario");
+        }
     }
 
     /**
@@ -34,29 +76,72 @@ public class Hooks {
         try {
             if (scenario.isFailed()) {
                 logger.error("Scenario failed: {}", scenario.getName());
-                takeScreenshot(scenario);
             } else {
                 logger.info("Scenario passed: {}", scenario.getName());
             }
+            if (scenario.isFailed() ? ConfigReader.isScreenshotOnFailure() : ConfigReader.isScreenshotOnPass()) {
+                takeScreenshot(scenario);
+            }
         } catch (Exception e) {
             logger.error("Error in tearDown", e);
         } finally {
-            DriverManager.quitDriver();
+            // Summarise the traffic while the driver is still bound, before it is reset or quit
+            TrafficInterceptor interceptor = DriverManager.getTrafficInterceptor();
+            if (interceptor != null) {
+                scenario.attach(interceptor.getScenarioSummary(), "text/plain", "Network interception");
+            }
+            // A failed scenario's browser may be in a bad state, so it is not handed to the next scenario
+            DriverManager.quitDriver(scenario.isFailed());
+            if (ConfigReader.isCommandMetricsEnabled()) {
+                scenario.attach(CommandMetrics.finishScenario(scenario), "text/plain", "WebDriver commands");
+            }
+            ScenarioContext.clear();
+            logger.info("Time spent waiting: {} ms", WaitEngine.getScenarioWaitMillis());
             logger.info("========================================");
             logger.info("Completed scenario: {}", scenario.getName());
             logger.info("========================================\n");
+            String scenarioLog = ThreadContext.get(SCENARIO_LOG_KEY);
+            if (scenarioLog != null) {
+                scenario.attach(SCENARIO_LOG_PATH + scenarioLog + ".log", "text/uri-list", "Scenario log");
+            }
+            ThreadContext.remove(SCENARIO_LOG_KEY);
+        }
+    }
+
+    /**
+     * After hook - runs before tearDown and fails the scenario if it lost its thread or driver binding
+     */
+    @After(order = 20000)
+    public void verifyScenarioIsolation(Scenario scenario) {
+        // setUp never ran when an earlier Before hook skipped or failed the scenario
+        if (!ConfigReader.isLeakCheckEnabled() || scenarioThread == null) {
+            return;
+        }
+        if (scenarioThread != Thread.currentThread() || scenarioDriver != DriverManager.getDriver()) {
+            throw new IllegalStateException("Scenario '" + scenario.getName()
+                    + "' lost its thread or driver binding during execution");
         }
     }
 
     /**
-     * Take screenshot and attach to report
+     * Get the file name of the scenario's log under target/logs/scenarios; the feature file, line and
+     * retry attempt keep outline rows, same-named scenarios and retries from overwriting each other's log
+     */
+    private static String getScenarioLogName(Scenario scenario) {
+        String path = scenario.getUri().getSchemeSpecificPart();
+        String feature = path.substring(path.lastIndexOf('/') + 1).replace(".feature", "");
+        String name = (feature + "_" + scenario.getName()).replaceAll("[^A-Za-z0-9]+", "_") + "_" + scenario.getLine();
+        int retryAttempt = ScenarioContext.getRetryAttempt();
+        return retryAttempt > 0 ? name + "_retry" + retryAttempt : name;
+    }
+
+    /**
+     * Take screenshot and link it from the report; compression and writing continue in the background
      */
     private void takeScreenshot(Scenario scenario) {
         try {
-            byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver())
-                    .getScreenshotAs(OutputType.BYTES);
-            scenario.attach(screenshot, "image/png", scenario.getName());
-            logger.info("Screenshot captured for failed scenario");
+            ScreenshotPipeline.capture(scenario);
+            logger.info("Screenshot captured for {} scenario", scenario.isFailed() ? "failed" : "passed");
         } catch (Exception e) {
             logger.error("Failed to capture screenshot", e);
         }
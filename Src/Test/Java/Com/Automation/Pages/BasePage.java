@@ -9,22 +9,35 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import com.automation.utils.ConfigReader;
+import com.automation.utils.WaitEngine;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Base Page class containing common methods for all page objects
  */
 public class BasePage {
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
+    // innerText is the rendered text that getText() returns, unlike textContent
+    private static final String SNAPSHOT_SCRIPT =
+            "var rows = document.querySelectorAll(arguments[0]), result = [];"
+            + "function text(row, selector) { var element = row.querySelector(selector);"
+            + " return element ? element.innerText.replace(/\\s+/g, ' ').trim() : ''; }"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + " var button = rows[i].querySelector(arguments[3]);"
+            + " result.push([text(rows[i], arguments[1]), text(rows[i], arguments[2]), button ? button.id : '']); }"
+            + "return result;";
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected Duration explicitWait;
 
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
+        if (driver == null) {
+            throw new IllegalStateException("No WebDriver initialized for thread "
+                    + Thread.currentThread().getName());
+        }
+        this.explicitWait = WaitEngine.getExplicitTimeout();
         PageFactory.initElements(driver, this);
     }
 
@@ -32,14 +45,14 @@ public class BasePage {
      * Wait for element to be visible
      */
     protected WebElement waitForElementVisible(WebElement element) {
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return WaitEngine.until(driver, explicitWait, ExpectedConditions.visibilityOf(element));
     }
 
     /**
      * Wait for element to be clickable
      */
     protected WebElement waitForElementClickable(WebElement element) {
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return WaitEngine.until(driver, explicitWait, ExpectedConditions.elementToBeClickable(element));
     }
 
     /**
@@ -47,7 +60,7 @@ public class BasePage {
      */
     protected void clickElement(WebElement element) {
         waitForElementClickable(element).click();
-        logger.info("Clicked on element: {}", element);
+        logger.info("Clicked on element: {}", () -> element);
     }
 
     /**
@@ -56,7 +69,7 @@ public class BasePage {
     protected void enterText(WebElement element, String text) {
         waitForElementVisible(element).clear();
         element.sendKeys(text);
-        logger.info("Entered text '{}' in element", text);
+        logger.info("Entered text '{}' in element {}", () -> text, () -> element);
     }
 
     /**
@@ -69,7 +82,7 @@ public class BasePage {
     }
 
     /**
-     * Check if element is displayed
+     * Check if element is displayed right now, without waiting
      */
     protected boolean isElementDisplayed(WebElement element) {
         try {
@@ -79,6 +92,34 @@ public class BasePage {
         }
     }
 
+    /**
+     * Check if element becomes visible within the timeout
+     */
+    protected boolean isElementDisplayed(By locator, Duration timeout) {
+        return WaitEngine.isVisible(driver, locator, timeout);
+    }
+
+    /**
+     * Check if element is missing or hidden, failing fast after the negative-check budget
+     */
+    protected boolean isElementAbsent(By locator) {
+        return WaitEngine.isAbsent(driver, locator, WaitEngine.getNegativeTimeout());
+    }
+
+    /**
+     * Read name, price and button id of every row matching rowSelector in one script call; the other
+     * CSS selectors locate those values inside a row
+     */
+    @SuppressWarnings("unchecked")
+    protected List<ItemSnapshot> snapshotItems(String rowSelector, String nameSelector, String priceSelector,
+                                               String buttonSelector) {
+        List<List<Object>> rows = (List<List<Object>>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, rowSelector, nameSelector, priceSelector, buttonSelector);
+        List<ItemSnapshot> items = rows.stream().map(ItemSnapshot::fromRow).toList();
+        logger.info("Snapshot of '{}' returned {} rows", rowSelector, items.size());
+        return items;
+    }
+
     /**
      * Scroll to element
      */
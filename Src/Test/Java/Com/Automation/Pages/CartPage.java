@@ -10,6 +10,9 @@ import java.util.List;
  * Page Object Model for Cart Page
  */
 public class CartPage extends BasePage {
+    private static final By PAGE_TITLE = By.className("title");
+
+    private RowIndex cartRows;
 
     @FindBy(className = "title")
     private WebElement pageTitle;
@@ -17,9 +20,6 @@ public class CartPage extends BasePage {
     @FindBy(className = "cart_item")
     private List<WebElement> cartItems;
 
-    @FindBy(className = "inventory_item_name")
-    private List<WebElement> cartItemNames;
-
     @FindBy(id = "checkout")
     private WebElement checkoutButton;
 
@@ -37,7 +37,7 @@ public class CartPage extends BasePage {
      * Check if on cart page
      */
     public boolean isOnCartPage() {
-        return isElementDisplayed(pageTitle) && getPageTitle().equals("Your Cart");
+        return isElementDisplayed(PAGE_TITLE, explicitWait) && getPageTitle().equals("Your Cart");
     }
 
     /**
@@ -51,16 +51,22 @@ public class CartPage extends BasePage {
      * Check if product is in cart
      */
     public boolean isProductInCart(String productName) {
-        return cartItemNames.stream()
-                .anyMatch(element -> element.getText().equals(productName));
+        return getAllCartItemNames().contains(productName);
+    }
+
+    /**
+     * Get name, price and button id of every cart item in one round trip
+     */
+    public List<ItemSnapshot> getCartItemSnapshots() {
+        return snapshotItems(".cart_item", ".inventory_item_name", ".inventory_item_price", "button");
     }
 
     /**
      * Get all cart item names
      */
     public List<String> getAllCartItemNames() {
-        return cartItemNames.stream()
-                .map(WebElement::getText)
+        return getCartItemSnapshots().stream()
+                .map(ItemSnapshot::getName)
                 .toList();
     }
 
@@ -84,15 +90,22 @@ public class CartPage extends BasePage {
      * Remove product from cart
      */
     public void removeProductFromCart(String productName) {
-        for (WebElement item : cartItems) {
-            String name = item.findElement(By.className("inventory_item_name")).getText();
-            if (name.equals(productName)) {
-                WebElement removeButton = item.findElement(By.tagName("button"));
-                clickElement(removeButton);
-                logger.info("Removed product from cart: {}", productName);
-                return;
-            }
+        WebElement removeButton = getCartRows().findButton(productName);
+        if (removeButton == null) {
+            throw new RuntimeException("Product not found in cart: " + productName);
+        }
+        clickElement(removeButton);
+        getCartRows().invalidate();
+        logger.info("Removed product from cart: {}", productName);
+    }
+
+    /**
+     * Get the name index over cart rows, built on first use
+     */
+    private RowIndex getCartRows() {
+        if (cartRows == null) {
+            cartRows = new RowIndex(driver, ".cart_item");
         }
-        throw new RuntimeException("Product not found in cart: " + productName);
+        return cartRows;
     }
 }
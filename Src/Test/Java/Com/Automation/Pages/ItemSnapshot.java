@@ -0,0 +1,44 @@
+package com.automation.pages;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of one product or cart row, read in a single script call
+ */
+public final class ItemSnapshot {
+    private final String name;
+    private final double price;
+    private final String buttonId;
+
+    public ItemSnapshot(String name, double price, String buttonId) {
+        this.name = name;
+        this.price = price;
+        this.buttonId = buttonId;
+    }
+
+    /**
+     * Build a snapshot from the [name, price text, button id] triple returned by the snapshot script
+     */
+    static ItemSnapshot fromRow(List<?> row) {
+        String priceText = String.valueOf(row.get(1)).replace("$", "").trim();
+        double price = priceText.isEmpty() ? Double.NaN : Double.parseDouble(priceText);
+        return new ItemSnapshot(String.valueOf(row.get(0)), price, String.valueOf(row.get(2)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getButtonId() {
+        return buttonId;
+    }
+
+    @Override
+    public String toString() {
+        return name + " ($" + price + ", " + buttonId + ")";
+    }
+}
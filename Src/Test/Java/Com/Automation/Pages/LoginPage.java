@@ -1,5 +1,6 @@
 package com.automation.pages;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
@@ -7,6 +8,8 @@ import org.openqa.selenium.support.FindBy;
  * Page Object Model for Login Page
  */
 public class LoginPage extends BasePage {
+    private static final By ERROR_MESSAGE = By.cssSelector("h3[data-test='error']");
+    private static final By LOGIN_LOGO = By.className("login_logo");
 
     @FindBy(id = "user-name")
     private WebElement usernameField;
@@ -20,9 +23,6 @@ public class LoginPage extends BasePage {
     @FindBy(css = "h3[data-test='error']")
     private WebElement errorMessage;
 
-    @FindBy(className = "login_logo")
-    private WebElement loginLogo;
-
     /**
      * Navigate to login page
      */
@@ -76,14 +76,14 @@ public class LoginPage extends BasePage {
      * Check if error message is displayed
      */
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return isElementDisplayed(ERROR_MESSAGE, explicitWait);
     }
 
     /**
      * Check if login logo is displayed
      */
     public boolean isLoginLogoDisplayed() {
-        return isElementDisplayed(loginLogo);
+        return isElementDisplayed(LOGIN_LOGO, explicitWait);
     }
 
     /**
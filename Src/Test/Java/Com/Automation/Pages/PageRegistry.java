@@ -0,0 +1,47 @@
+package com.automation.pages;
+
+import com.automation.utils.DriverManager;
+import org.picocontainer.Disposable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scenario-scoped registry of page objects, injected into step definitions by cucumber-picocontainer.
+ * Pages are built on first use and shared by every step definition class in the scenario.
+ */
+public class PageRegistry implements Disposable {
+    private final Map<Class<? extends BasePage>, BasePage> pages = new HashMap<>();
+
+    /**
+     * Get the page object of the given class, building it on first use
+     */
+    public <T extends BasePage> T get(Class<T> pageClass) {
+        if (DriverManager.getDriver() == null) {
+            throw new IllegalStateException("Page " + pageClass.getSimpleName()
+                    + " requested before Hooks.setUp created a WebDriver");
+        }
+        BasePage page = pages.get(pageClass);
+        if (page == null || page.driver != DriverManager.getDriver()) {
+            page = create(pageClass);
+            pages.put(pageClass, page);
+        }
+        return pageClass.cast(page);
+    }
+
+    private static BasePage create(Class<? extends BasePage> pageClass) {
+        try {
+            return pageClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to create page object: " + pageClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Drop all page objects at scenario end
+     */
+    @Override
+    public void dispose() {
+        pages.clear();
+    }
+}
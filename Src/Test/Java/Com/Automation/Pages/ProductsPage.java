@@ -1,6 +1,10 @@
 package com.automation.pages;
 
+import com.automation.utils.ConfigReader;
+import com.automation.utils.WaitEngine;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
@@ -10,6 +14,26 @@ import java.util.List;
  * Page Object Model for Products Page
  */
 public class ProductsPage extends BasePage {
+    private static final By PAGE_TITLE = By.className("title");
+    private static final By CART_BADGE = By.className("shopping_cart_badge");
+    private static final String SEED_CART_SCRIPT =
+            "var names = arguments[0], count = arguments[1], byName = {}, inOrder = [], ids = [], missing = [];"
+            + "var rows = document.querySelectorAll('.inventory_item');"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + " var link = rows[i].querySelector('a[id$=\"_title_link\"]');"
+            + " var match = link && link.id.match(/^item_(\\d+)_title_link$/);"
+            + " if (!match) { continue; }"
+            + " var id = Number(match[1]);"
+            + " byName[rows[i].querySelector('.inventory_item_name').textContent.trim()] = id;"
+            + " inOrder.push(id); }"
+            + "if (names) {"
+            + " names.forEach(function (name) {"
+            + "  if (byName.hasOwnProperty(name)) { ids.push(byName[name]); } else { missing.push(name); } });"
+            + "} else { ids = inOrder.slice(0, count); }"
+            + "if (missing.length === 0) { window.localStorage.setItem('cart-contents', JSON.stringify(ids)); }"
+            + "return [ids.length, missing];";
+
+    private RowIndex productRows;
 
     @FindBy(className = "title")
     private WebElement pageTitle;
@@ -26,11 +50,12 @@ public class ProductsPage extends BasePage {
     @FindBy(className = "product_sort_container")
     private WebElement sortDropdown;
 
-    @FindBy(className = "inventory_item_name")
-    private List<WebElement> productNames;
-
-    @FindBy(className = "inventory_item_price")
-    private List<WebElement> productPrices;
+    /**
+     * Navigate directly to products page
+     */
+    public void navigateToProductsPage() {
+        navigateToUrl(ConfigReader.getAppUrl().replaceAll("/$", "") + "/inventory.html");
+    }
 
     /**
      * Get page title text
@@ -43,7 +68,15 @@ public class ProductsPage extends BasePage {
      * Check if on products page
      */
     public boolean isOnProductsPage() {
-        return isElementDisplayed(pageTitle) && getPageTitle().equals("Products");
+        return isElementDisplayed(PAGE_TITLE, explicitWait) && getPageTitle().equals("Products");
+    }
+
+    /**
+     * Check if the products page is already shown, failing fast after the negative-check budget;
+     * for pages that have just finished loading, e.g. after a cached session was restored
+     */
+    public boolean isProductsPageShown() {
+        return isElementDisplayed(PAGE_TITLE, WaitEngine.getNegativeTimeout()) && getPageTitle().equals("Products");
     }
 
     /**
@@ -64,16 +97,61 @@ public class ProductsPage extends BasePage {
      * Add product to cart by name
      */
     public void addProductToCart(String productName) {
-        for (WebElement product : productList) {
-            String name = product.findElement(By.className("inventory_item_name")).getText();
-            if (name.equals(productName)) {
-                WebElement addToCartButton = product.findElement(By.tagName("button"));
-                clickElement(addToCartButton);
-                logger.info("Added product to cart: {}", productName);
-                return;
-            }
+        WebElement addToCartButton = getProductRows().findButton(productName);
+        if (addToCartButton == null) {
+            throw new RuntimeException("Product not found: " + productName);
+        }
+        clickElement(addToCartButton);
+        logger.info("Added product to cart: {}", productName);
+    }
+
+    /**
+     * Replace the cart contents with the named products through client-side storage in one script call,
+     * then reload so the page shows the new cart. Use only where the add-to-cart UI is not under test.
+     */
+    public void seedCart(List<String> productNames) {
+        List<?> result = runSeedCartScript(productNames, 0);
+        List<?> missing = (List<?>) result.get(1);
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Products not found: " + missing);
+        }
+        reloadAfterSeeding();
+        logger.info("Seeded cart with {} products", productNames.size());
+    }
+
+    /**
+     * Replace the cart contents with the first products of the inventory, as seedCart does
+     */
+    public void seedCartWithFirstProducts(int count) {
+        int seeded = ((Number) runSeedCartScript(null, count).get(0)).intValue();
+        if (seeded < count) {
+            throw new RuntimeException("Only " + seeded + " products available, " + count
+                    + " requested (raise local.catalogue.size in local mode)");
+        }
+        reloadAfterSeeding();
+        logger.info("Seeded cart with the first {} products", count);
+    }
+
+    private List<?> runSeedCartScript(List<String> productNames, int count) {
+        return (List<?>) ((JavascriptExecutor) driver).executeScript(SEED_CART_SCRIPT, productNames, count);
+    }
+
+    private void reloadAfterSeeding() {
+        driver.navigate().refresh();
+        getProductRows().invalidate();
+        if (!isOnProductsPage()) {
+            throw new RuntimeException("Products page did not reload after seeding the cart");
         }
-        throw new RuntimeException("Product not found: " + productName);
+    }
+
+    /**
+     * Get the name index over product rows, built on first use
+     */
+    private RowIndex getProductRows() {
+        if (productRows == null) {
+            productRows = new RowIndex(driver, ".inventory_item");
+        }
+        return productRows;
     }
 
     /**
@@ -87,7 +165,14 @@ public class ProductsPage extends BasePage {
      * Check if cart badge is displayed
      */
     public boolean isCartBadgeDisplayed() {
-        return isElementDisplayed(cartBadge);
+        return isElementDisplayed(CART_BADGE, explicitWait);
+    }
+
+    /**
+     * Check if cart badge is absent, failing fast instead of waiting the full timeout
+     */
+    public boolean isCartBadgeAbsent() {
+        return isElementAbsent(CART_BADGE);
     }
 
     /**
@@ -106,15 +191,23 @@ public class ProductsPage extends BasePage {
         WebElement sortOption = driver.findElement(
                 By.xpath("//option[text()='" + option + "']"));
         clickElement(sortOption);
+        getProductRows().invalidate();
         logger.info("Selected sort option: {}", option);
     }
 
+    /**
+     * Get name, price and button id of every product in one round trip
+     */
+    public List<ItemSnapshot> getProductSnapshots() {
+        return snapshotItems(".inventory_item", ".inventory_item_name", ".inventory_item_price", "button");
+    }
+
     /**
      * Get all product names
      */
     public List<String> getAllProductNames() {
-        return productNames.stream()
-                .map(WebElement::getText)
+        return getProductSnapshots().stream()
+                .map(ItemSnapshot::getName)
                 .toList();
     }
 
@@ -122,9 +215,8 @@ public class ProductsPage extends BasePage {
      * Get all product prices
      */
     public List<Double> getAllProductPrices() {
-        return productPrices.stream()
-                .map(element -> element.getText().replace("$", ""))
-                .map(Double::parseDouble)
+        return getProductSnapshots().stream()
+                .map(ItemSnapshot::getPrice)
                 .toList();
     }
 
@@ -140,4 +232,15 @@ public class ProductsPage extends BasePage {
         }
         return true;
     }
+
+    /**
+     * Wait until products are sorted by price ascending
+     */
+    public boolean waitForProductsSortedByPriceAscending() {
+        try {
+            return WaitEngine.until(driver, explicitWait, webDriver -> areProductsSortedByPriceAscending());
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
 }
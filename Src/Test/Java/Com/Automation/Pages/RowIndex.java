@@ -0,0 +1,77 @@
+package com.automation.pages;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Name to row index over product or cart rows, built with one script call per page render.
+ * The index is rebuilt after invalidate() and whenever a cached row has gone stale.
+ */
+public class RowIndex {
+    private static final Logger logger = LogManager.getLogger(RowIndex.class);
+    private static final By ROW_BUTTON = By.tagName("button");
+    private static final String BUILD_SCRIPT =
+            "var rows = document.querySelectorAll(arguments[0]), index = {};"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + " var name = rows[i].querySelector('.inventory_item_name');"
+            + " if (name) { index[name.textContent.replace(/\\s+/g, ' ').trim()] = rows[i]; } }"
+            + "return index;";
+
+    private final WebDriver driver;
+    private final String rowSelector;
+    private Map<String, WebElement> rows;
+
+    public RowIndex(WebDriver driver, String rowSelector) {
+        this.driver = driver;
+        this.rowSelector = rowSelector;
+    }
+
+    /**
+     * Get the button of the row with the given name, or null if no such row exists
+     */
+    public WebElement findButton(String name) {
+        boolean rebuilt = false;
+        if (rows == null) {
+            rebuild();
+            rebuilt = true;
+        }
+        try {
+            WebElement row = rows.get(name);
+            if (row != null) {
+                return row.findElement(ROW_BUTTON);
+            }
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Row index for '{}' is stale", rowSelector);
+        }
+        if (rebuilt) {
+            return null;
+        }
+        rebuild();
+        WebElement row = rows.get(name);
+        return row == null ? null : row.findElement(ROW_BUTTON);
+    }
+
+    /**
+     * Mark the index as outdated, e.g. after the list was sorted or a row was removed
+     */
+    public void invalidate() {
+        rows = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        Map<String, Object> index = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(BUILD_SCRIPT, rowSelector);
+        rows = new HashMap<>();
+        index.forEach((name, row) -> rows.put(name, (WebElement) row));
+        logger.debug("Indexed {} rows for '{}'", rows.size(), rowSelector);
+    }
+}
@@ -0,0 +1,324 @@
+package com.automation.plugins;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ShutdownHooks;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.plugin.ColorAware;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.Plugin;
+import io.cucumber.plugin.event.Event;
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cucumber plugin that moves report writing off the scenario threads. It wraps the concurrent plugins
+ * given as its argument (class name and optional argument, separated by ';') and delivers events to
+ * them on one writer thread through a bounded queue (report.async.queue.size); a scenario thread waits
+ * only when the queue is full. Events of a scenario are delivered together once it finishes, in the
+ * order they were emitted. TestRunFinished waits until every queued event has been written.
+ * Plugins that are not ConcurrentEventListeners (pretty, json, html, junit) are left to Cucumber, which
+ * hands them events in canonical feature order; use canWrap to tell them apart.
+ * Usage: "com.automation.plugins.AsyncReporterPlugin:
+ *     com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+ */
+public class AsyncReporterPlugin implements ConcurrentEventListener, ColorAware {
+    private static final Logger logger = LogManager.getLogger(AsyncReporterPlugin.class);
+
+    private final List<Plugin> delegates = new ArrayList<>();
+    private final Dispatcher dispatcher = new Dispatcher();
+    private final BlockingQueue<List<Object>> queue =
+            new ArrayBlockingQueue<>(ConfigReader.getAsyncReportQueueSize());
+    private final ThreadLocal<List<Object>> scenarioEvents = new ThreadLocal<>();
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong scenarioThreadNanos = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong writerNanos = new AtomicLong();
+    private final AtomicLong deliveryErrors = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public AsyncReporterPlugin(String plugins) {
+        for (String plugin : plugins.split(";")) {
+            if (!plugin.trim().isEmpty()) {
+                ConcurrentEventListener delegate = createDelegate(plugin.trim());
+                delegate.setEventPublisher(dispatcher);
+                delegates.add(delegate);
+            }
+        }
+        Thread writer = new Thread(this::writeEvents, "async-reporter");
+        writer.setDaemon(true);
+        writer.start();
+        ShutdownHooks.register("async-reporter-shutdown", () -> flush(30));
+    }
+
+    /**
+     * Check if a plugin option names a ConcurrentEventListener class, which this plugin can wrap without
+     * changing the order its events arrive in
+     */
+    public static boolean canWrap(String pluginOption) {
+        String className = getClassName(pluginOption);
+        if (!className.contains(".")) {
+            return false;
+        }
+        try {
+            Class<?> pluginClass = Class.forName(className, false, AsyncReporterPlugin.class.getClassLoader());
+            return ConcurrentEventListener.class.isAssignableFrom(pluginClass);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static String getClassName(String pluginOption) {
+        int separator = pluginOption.indexOf(':');
+        return separator < 0 ? pluginOption : pluginOption.substring(0, separator);
+    }
+
+    /**
+     * Create a plugin through its public (String) constructor, passing the option's argument, or through
+     * its no-argument constructor
+     */
+    private static ConcurrentEventListener createDelegate(String pluginOption) {
+        if (!canWrap(pluginOption)) {
+            throw new IllegalArgumentException("Only ConcurrentEventListener plugins can be reported "
+                    + "asynchronously, got '" + pluginOption + "'");
+        }
+        String className = getClassName(pluginOption);
+        String argument = className.length() < pluginOption.length()
+                ? pluginOption.substring(className.length() + 1) : "";
+        try {
+            Class<? extends ConcurrentEventListener> pluginClass =
+                    Class.forName(className).asSubclass(ConcurrentEventListener.class);
+            try {
+                Constructor<? extends ConcurrentEventListener> constructor = pluginClass.getConstructor(String.class);
+                return constructor.newInstance(argument);
+            } catch (NoSuchMethodException e) {
+                if (!argument.isEmpty()) {
+                    throw new IllegalArgumentException("Plugin " + className + " takes no argument", e);
+                }
+                return pluginClass.getConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new IllegalArgumentException("Failed to create plugin '" + pluginOption + "'", cause);
+        }
+    }
+
+    @Override
+    public void setMonochrome(boolean monochrome) {
+        for (Plugin delegate : delegates) {
+            if (delegate instanceof ColorAware) {
+                ((ColorAware) delegate).setMonochrome(monochrome);
+            }
+        }
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(Event.class, this::onEvent);
+        publisher.registerHandlerFor(Envelope.class, this::onEvent);
+    }
+
+    /**
+     * Runs on the thread that emitted the event; scenario events are collected until the scenario finishes
+     */
+    private void onEvent(Object event) {
+        long start = System.nanoTime();
+        if (event instanceof TestCaseStarted) {
+            scenarioEvents.set(new ArrayList<>());
+        }
+        List<Object> scenario = scenarioEvents.get();
+        if (scenario != null) {
+            scenario.add(event);
+            if (event instanceof TestCaseFinished) {
+                scenarioEvents.remove();
+                enqueue(scenario);
+            }
+        } else {
+            enqueue(Collections.singletonList(event));
+        }
+        scenarioThreadNanos.addAndGet(System.nanoTime() - start);
+
+        if (event instanceof TestRunFinished) {
+            flush(ConfigReader.getAsyncReportFlushTimeoutSeconds());
+            logStatistics();
+        }
+    }
+
+    /**
+     * Queue a batch, blocking while the queue is full so a slow writer holds back the scenarios
+     */
+    private void enqueue(List<Object> batch) {
+        events.addAndGet(batch.size());
+        batches.incrementAndGet();
+        if (!queue.offer(batch)) {
+            long start = System.nanoTime();
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while queueing report events; {} event(s) dropped", batch.size());
+                return;
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+                blockedCount.incrementAndGet();
+            }
+        }
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Wait until every event queued so far has been delivered
+     */
+    private void flush(long timeoutSeconds) {
+        CountDownLatch delivered = new CountDownLatch(1);
+        try {
+            if (!queue.offer(Collections.singletonList(delivered), timeoutSeconds, TimeUnit.SECONDS)
+                    || !delivered.await(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("Report events still queued after {} s; reports may be incomplete", timeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeEvents() {
+        while (true) {
+            List<Object> batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = System.nanoTime();
+            for (Object event : batch) {
+                if (event instanceof CountDownLatch) {
+                    ((CountDownLatch) event).countDown();
+                } else {
+                    dispatcher.dispatch(event);
+                }
+            }
+            writerNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Get number of event batches waiting for the writer thread
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get time the emitting threads spent handing events over, including time blocked on a full queue
+     */
+    public long getScenarioThreadNanos() {
+        return scenarioThreadNanos.get();
+    }
+
+    /**
+     * Get queue and timing statistics of this run
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("plugins", delegates.stream().map(plugin -> plugin.getClass().getSimpleName())
+                .collect(Collectors.toList()));
+        statistics.put("events", events.get());
+        statistics.put("batches", batches.get());
+        statistics.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        statistics.put("maxQueueDepth", maxQueueDepth.get());
+        statistics.put("scenarioThreadMs", scenarioThreadNanos.get() / 1_000_000);
+        statistics.put("blockedOnFullQueue", blockedCount.get());
+        statistics.put("blockedMs", blockedNanos.get() / 1_000_000);
+        statistics.put("writerMs", writerNanos.get() / 1_000_000);
+        statistics.put("deliveryErrors", deliveryErrors.get());
+        return statistics;
+    }
+
+    private void logStatistics() {
+        Map<String, Object> statistics = getStatistics();
+        logger.info("Async reporter: {} events to {}; {} ms on emitting threads ({} ms blocked, {} times), "
+                        + "{} ms writing, max queue depth {}",
+                statistics.get("events"), statistics.get("plugins"), statistics.get("scenarioThreadMs"),
+                statistics.get("blockedMs"), statistics.get("blockedOnFullQueue"), statistics.get("writerMs"),
+                statistics.get("maxQueueDepth"));
+        Path file = Paths.get(ConfigReader.getAsyncReportStatsFile());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(statistics).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write async reporter statistics to {}", file, e);
+        }
+    }
+
+    /**
+     * Event publisher seen by the wrapped plugins; handlers run on the writer thread only
+     */
+    private final class Dispatcher implements EventPublisher {
+        private final Map<Class<?>, List<EventHandler<?>>> handlers = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+            handlers.computeIfAbsent(eventType, type -> new CopyOnWriteArrayList<>()).add(handler);
+        }
+
+        @Override
+        public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+            List<EventHandler<?>> registered = handlers.get(eventType);
+            if (registered != null) {
+                registered.remove(handler);
+            }
+        }
+
+        /**
+         * Deliver to handlers of Event (for events) and of the event's own class, as Cucumber does
+         */
+        private void dispatch(Object event) {
+            if (event instanceof Event) {
+                deliver(Event.class, event);
+            }
+            deliver(event.getClass(), event);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliver(Class<?> eventType, Object event) {
+            for (EventHandler<?> handler : handlers.getOrDefault(eventType, List.of())) {
+                try {
+                    ((EventHandler<Object>) handler).receive(event);
+                } catch (RuntimeException e) {
+                    deliveryErrors.incrementAndGet();
+                    logger.error("Report plugin failed on {}", event.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.automation.plugins;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records latency samples for one step pattern or hook and computes percentiles
+ */
+public class LatencyRecorder {
+    private final String name;
+    private final String category;
+    private long[] samples = new long[16];
+    private int count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public LatencyRecorder(String name, String category) {
+        this.name = name;
+        this.category = category;
+    }
+
+    /**
+     * Add one sample
+     */
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Get the given percentile (0-100) using the nearest-rank method
+     */
+    public synchronized long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Get a summary of the recorded samples in milliseconds
+     */
+    public synchronized Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", name);
+        summary.put("category", category);
+        summary.put("count", count);
+        summary.put("totalMs", toMillis(totalNanos));
+        summary.put("p50Ms", toMillis(getPercentileNanos(50)));
+        summary.put("p90Ms", toMillis(getPercentileNanos(90)));
+        summary.put("p99Ms", toMillis(getPercentileNanos(99)));
+        summary.put("maxMs", toMillis(maxNanos));
+        return summary;
+    }
+
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
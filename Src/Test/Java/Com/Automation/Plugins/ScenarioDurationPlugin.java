@@ -0,0 +1,108 @@
+package com.automation.plugins;
+
+import com.automation.utils.ScenarioDurations;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cucumber plugin that records scenario durations into the history used by BaseRunner to schedule
+ * scenarios longest-first, and compares the run's makespan with its ideal lower bound.
+ * Usage: "com.automation.plugins.ScenarioDurationPlugin:target/perf-reports/schedule-summary.json"
+ */
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(ScenarioDurationPlugin.class);
+
+    private final Path outputFile;
+    private final ScenarioDurations durations = ScenarioDurations.load();
+    private final Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Instant> firstStart = new AtomicReference<>();
+    private final AtomicReference<Instant> lastFinish = new AtomicReference<>();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong longestMillis = new AtomicLong();
+    private final AtomicLong scenarios = new AtomicLong();
+
+    public ScenarioDurationPlugin() {
+        this("target/perf-reports/schedule-summary.json");
+    }
+
+    public ScenarioDurationPlugin(String outputFile) {
+        this.outputFile = Paths.get(outputFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finishRun());
+    }
+
+    /**
+     * Runs on the scenario thread, so distinct threads give the number of workers actually used
+     */
+    private void onTestCaseStarted(TestCaseStarted event) {
+        workerThreads.add(Thread.currentThread().getName());
+        firstStart.accumulateAndGet(event.getInstant(), (current, next) ->
+                current == null || next.isBefore(current) ? next : current);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        long millis = event.getResult().getDuration().toMillis();
+        durations.record(ScenarioDurations.key(testCase.getUri(), testCase.getLocation().getLine()), millis);
+        totalMillis.addAndGet(millis);
+        longestMillis.accumulateAndGet(millis, Math::max);
+        scenarios.incrementAndGet();
+        lastFinish.accumulateAndGet(event.getInstant(), (current, next) ->
+                current == null || next.isAfter(current) ? next : current);
+    }
+
+    private void finishRun() {
+        durations.save();
+        if (scenarios.get() == 0) {
+            return;
+        }
+        int workers = Math.max(1, workerThreads.size());
+        long makespan = Duration.between(firstStart.get(), lastFinish.get()).toMillis();
+        // No schedule on this many workers can finish before the average load or the longest scenario
+        long lowerBound = Math.max((totalMillis.get() + workers - 1) / workers, longestMillis.get());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenarios", scenarios.get());
+        summary.put("workers", workers);
+        summary.put("totalScenarioMs", totalMillis.get());
+        summary.put("longestScenarioMs", longestMillis.get());
+        summary.put("makespanMs", makespan);
+        summary.put("lowerBoundMs", lowerBound);
+        summary.put("efficiency", makespan == 0 ? 1.0 : Math.round(1000.0 * lowerBound / makespan) / 1000.0);
+        try {
+            Files.createDirectories(outputFile.toAbsolutePath().getParent());
+            Files.write(outputFile, new Json().toJson(summary).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write schedule summary to {}", outputFile, e);
+        }
+        logger.info("Schedule: {} scenarios on {} worker(s), makespan {} ms, lower bound {} ms ({}% of ideal)",
+                scenarios.get(), workers, makespan, lowerBound,
+                makespan == 0 ? 100 : Math.round(100.0 * lowerBound / makespan));
+    }
+}
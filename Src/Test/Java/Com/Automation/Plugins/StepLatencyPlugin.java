@@ -0,0 +1,128 @@
+package com.automation.plugins;
+
+import com.automation.utils.DriverManager;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cucumber plugin that records latency distributions per step pattern and per hook.
+ * Driver startup inside Hooks.setUp is recorded separately from the rest of the hook.
+ * Usage: "com.automation.plugins.StepLatencyPlugin:target/perf-reports/step-latency.json"
+ */
+public class StepLatencyPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(StepLatencyPlugin.class);
+    private static final String DRIVER_STARTUP = "driver startup";
+    private static final int TOP_N = 10;
+
+    private final Path outputFile;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    public StepLatencyPlugin() {
+        this("target/perf-reports/step-latency.json");
+    }
+
+    public StepLatencyPlugin(String outputFile) {
+        this.outputFile = Paths.get(outputFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeSummary());
+    }
+
+    /**
+     * Record the step duration; runs on the scenario thread, so driver startup time is read from DriverManager
+     */
+    private void onTestStepFinished(TestStepFinished event) {
+        TestStep step = event.getTestStep();
+        long nanos = event.getResult().getDuration().toNanos();
+        if (step instanceof HookTestStep && ((HookTestStep) step).getHookType() == HookType.BEFORE) {
+            long startupNanos = Math.min(DriverManager.takeLastInitializationNanos(), nanos);
+            if (startupNanos > 0) {
+                recorder(DRIVER_STARTUP, "driver").record(startupNanos);
+                nanos -= startupNanos;
+            }
+        }
+        recorder(getName(step), getCategory(step)).record(nanos);
+    }
+
+    private LatencyRecorder recorder(String name, String category) {
+        return recorders.computeIfAbsent(category + ":" + name, key -> new LatencyRecorder(name, category));
+    }
+
+    private static String getName(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+            String pattern = pickleStep.getPattern();
+            return pattern != null ? pattern : pickleStep.getStep().getText();
+        }
+        String location = step.getCodeLocation();
+        int arguments = location.indexOf('(');
+        String method = arguments < 0 ? location : location.substring(0, arguments);
+        int classStart = method.lastIndexOf('.', method.lastIndexOf('.') - 1);
+        return method.substring(classStart + 1);
+    }
+
+    private static String getCategory(TestStep step) {
+        if (step instanceof HookTestStep) {
+            return "hook";
+        }
+        return "step";
+    }
+
+    private void writeSummary() {
+        List<LatencyRecorder> sorted = new ArrayList<>(recorders.values());
+        sorted.sort(Comparator.comparingLong(LatencyRecorder::getTotalNanos).reversed());
+
+        Map<String, Long> totalsByCategory = sorted.stream().collect(Collectors.groupingBy(
+                LatencyRecorder::getCategory, LinkedHashMap::new,
+                Collectors.summingLong(LatencyRecorder::getTotalNanos)));
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Double> totals = new LinkedHashMap<>();
+        totalsByCategory.forEach((category, nanos) -> totals.put(category, LatencyRecorder.toMillis(nanos)));
+        summary.put("totalMsByCategory", totals);
+        summary.put("entries", sorted.stream().map(LatencyRecorder::toSummary).collect(Collectors.toList()));
+
+        try {
+            Files.createDirectories(outputFile.toAbsolutePath().getParent());
+            Files.write(outputFile, new Json().toJson(summary).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write step latency summary to {}", outputFile, e);
+        }
+        logTopSteps(sorted);
+    }
+
+    private void logTopSteps(List<LatencyRecorder> sorted) {
+        logger.info("Slowest steps by total time:");
+        logger.info(String.format("%-60s %6s %10s %8s %8s %8s %8s",
+                "Step / hook", "Count", "Total ms", "p50", "p90", "p99", "Max"));
+        sorted.stream().limit(TOP_N).map(LatencyRecorder::toSummary).forEach(entry ->
+                logger.info(String.format("%-60.60s %6s %10s %8s %8s %8s %8s",
+                        "[" + entry.get("category") + "] " + entry.get("name"), entry.get("count"),
+                        entry.get("totalMs"), entry.get("p50Ms"), entry.get("p90Ms"),
+                        entry.get("p99Ms"), entry.get("maxMs"))));
+    }
+}
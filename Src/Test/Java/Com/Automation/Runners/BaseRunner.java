@@ -0,0 +1,291 @@
+package com.automation.runners;
+
+import com.automation.plugins.AsyncReporterPlugin;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.DriverManager;
+import com.automation.utils.LocalSiteServer;
+import com.automation.utils.ScenarioContext;
+import com.automation.utils.ScenarioDurations;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base runner that executes scenarios on a configurable number of threads.
+ * Set parallel=true and optionally thread.count in config.properties or as system properties.
+ * With app.mode=local the embedded local site is started before the scenarios and stopped after them.
+ * Scenarios are handed to the threads longest-first, using durations recorded by ScenarioDurationPlugin.
+ * With retry.count above 0, scenarios that fail are reported as skipped and rerun up to retry.count times
+ * on a fresh browser once the main pass is done; the outcome is written to getRetrySummaryFile().
+ * With shard.total above 1 only the scenarios of shard.index run, and getReportPlugins() output is
+ * written per shard. With report.async the concurrent report plugins are fed by AsyncReporterPlugin's
+ * writer thread.
+ * Outlines whose Examples are tagged @data:file run from generated feature copies holding one example
+ * per row of that file (see ExternalExamples).
+ */
+public abstract class BaseRunner {
+    private static final Logger logger = LogManager.getLogger(BaseRunner.class);
+
+    private final Map<PickleWrapper, FailedScenario> failedScenarios = new ConcurrentHashMap<>();
+    private final RetrySummary retrySummary = new RetrySummary();
+    private TestNGCucumberRunner testNGCucumberRunner;
+    private ShardPlan shardPlan;
+    private long retryPassStartNanos;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        shardPlan = ShardPlan.fromConfig();
+        String reportPlugins = toPluginProperty(getReportPlugins(shardPlan.getSuffix()));
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        String generatedFeatures = ExternalExamples.generate(getFeaturePaths(xmlTest));
+        // Plugins given as cucumber.plugin are added to the ones in @CucumberOptions
+        testNGCucumberRunner = new TestNGCucumberRunner(getClass(), key -> {
+            String value = xmlTest.getParameter(key);
+            if ("cucumber.features".equals(key) && generatedFeatures != null) {
+                return generatedFeatures;
+            }
+            if (!"cucumber.plugin".equals(key) || reportPlugins.isEmpty()) {
+                return value;
+            }
+            return value == null ? reportPlugins : value + "," + reportPlugins;
+        });
+        retrySummary.startMainPass();
+    }
+
+    /**
+     * Get the feature paths the runner would run: the cucumber.features parameter, else @CucumberOptions features
+     */
+    private String getFeaturePaths(XmlTest xmlTest) {
+        String features = xmlTest.getParameter("cucumber.features");
+        if (features != null) {
+            return features;
+        }
+        CucumberOptions options = getClass().getAnnotation(CucumberOptions.class);
+        return options == null ? "" : String.join(",", options.features());
+    }
+
+    /**
+     * Apply the configured thread count to the scenario data provider
+     */
+    @BeforeClass(alwaysRun = true)
+    public void configureParallelism(ITestContext context) {
+        int threadCount = getThreadCount();
+        context.getCurrentXmlTest().getSuite().setDataProviderThreadCount(threadCount);
+        logger.info("Running scenarios on {} thread(s)", threadCount);
+    }
+
+    /**
+     * Start the embedded local site up front so the first scenario does not pay for it
+     */
+    @BeforeClass(alwaysRun = true)
+    public void startApplication() {
+        if (ConfigReader.isLocalMode()) {
+            logger.info("Running against local site at {}", ConfigReader.getAppUrl());
+        }
+    }
+
+    /**
+     * Start launching prefetched browsers while TestNG prepares the scenarios
+     */
+    @BeforeClass(alwaysRun = true)
+    public void prefetchDrivers() {
+        DriverManager.startPrefetching();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopApplication() {
+        LocalSiteServer.stopShared();
+    }
+
+    /**
+     * Get number of threads used to run scenarios
+     */
+    protected int getThreadCount() {
+        return ConfigReader.getThreadCount();
+    }
+
+    /**
+     * Get Cucumber report plugins, given the file suffix that keeps their output apart per shard
+     * (empty when not sharded). Plugins that measure the scenario threads belong in @CucumberOptions.
+     */
+    protected List<String> getReportPlugins(String shardSuffix) {
+        return List.of();
+    }
+
+    /**
+     * Join the plugins into a cucumber.plugin value; with report.async the concurrent ones are wrapped by
+     * AsyncReporterPlugin, the others stay with Cucumber so they keep getting events in feature order
+     */
+    private static String toPluginProperty(List<String> plugins) {
+        if (!ConfigReader.isAsyncReporting()) {
+            return String.join(",", plugins);
+        }
+        List<String> direct = new ArrayList<>();
+        List<String> wrapped = new ArrayList<>();
+        for (String plugin : plugins) {
+            (AsyncReporterPlugin.canWrap(plugin) ? wrapped : direct).add(plugin);
+        }
+        if (!wrapped.isEmpty()) {
+            direct.add(AsyncReporterPlugin.class.getName() + ":" + String.join(";", wrapped));
+        }
+        return String.join(",", direct);
+    }
+
+    /**
+     * Get path of the JSON file that lists retried scenarios with their first-attempt and final status
+     */
+    protected String getRetrySummaryFile() {
+        return "target/perf-reports/retry-summary.json";
+    }
+
+    /**
+     * Run a scenario once; with retries enabled a failure is queued for the retry pass instead of failing the run
+     */
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        try {
+            testNGCucumberRunner.runScenario(pickleWrapper.getPickle());
+        } catch (SkipException e) {
+            throw e;
+        } catch (Throwable t) {
+            if (ConfigReader.getRetryCount() <= 0) {
+                throw t;
+            }
+            failedScenarios.put(pickleWrapper, new FailedScenario(featureWrapper, t));
+            throw new SkipException("Failed on first attempt, queued for retry: " + t.getMessage());
+        }
+    }
+
+    /**
+     * Rerun a scenario that failed in the main pass, each attempt on a newly launched browser
+     */
+    @Test(groups = "cucumber", description = "Retries failed Cucumber Scenarios", dataProvider = "failedScenarios",
+            dependsOnMethods = "runScenario", alwaysRun = true)
+    public void retryScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        Pickle pickle = pickleWrapper.getPickle();
+        Throwable firstFailure = failedScenarios.get(pickleWrapper).firstFailure;
+        Throwable lastFailure = firstFailure;
+        int maxAttempts = ConfigReader.getRetryCount();
+        int attempts = 0;
+        boolean passed = false;
+        long start = System.nanoTime();
+        try {
+            while (attempts < maxAttempts) {
+                if (isRetryBudgetSpent()) {
+                    logger.warn("Retry time budget spent, not retrying '{}' again", pickle.getName());
+                    break;
+                }
+                attempts++;
+                logger.info("Retrying '{}' (attempt {} of {})", pickle.getName(), attempts, maxAttempts);
+                DriverManager.requestFreshDriver();
+                ScenarioContext.setRetryAttempt(attempts);
+                try {
+                    testNGCucumberRunner.runScenario(pickle);
+                    passed = true;
+                    return;
+                } catch (SkipException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    lastFailure = t;
+                }
+            }
+            throw lastFailure;
+        } finally {
+            ScenarioContext.setRetryAttempt(0);
+            retrySummary.record(pickle, String.valueOf(firstFailure), passed, attempts, System.nanoTime() - start);
+        }
+    }
+
+    private boolean isRetryBudgetSpent() {
+        long budgetSeconds = ConfigReader.getRetryTimeBudgetSeconds();
+        return budgetSeconds > 0 && System.nanoTime() - retryPassStartNanos >= budgetSeconds * 1_000_000_000L;
+    }
+
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        if (testNGCucumberRunner == null) {
+            return new Object[0][0];
+        }
+        Object[][] scenarios = shardPlan.select(testNGCucumberRunner.provideScenarios(), getClass().getSimpleName());
+        if (ConfigReader.isLongestFirstScheduling()) {
+            orderLongestFirst(scenarios);
+        }
+        return scenarios;
+    }
+
+    /**
+     * Scenarios that failed in the main pass; retries run one at a time so they do not compete for resources
+     */
+    @DataProvider
+    public Object[][] failedScenarios() {
+        retrySummary.finishMainPass();
+        retryPassStartNanos = System.nanoTime();
+        return failedScenarios.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue().featureWrapper})
+                .toArray(Object[][]::new);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (testNGCucumberRunner == null) {
+            return;
+        }
+        testNGCucumberRunner.finish();
+        retrySummary.finishMainPass();
+        retrySummary.write(shardPlan.withSuffix(getRetrySummaryFile()));
+    }
+
+    /**
+     * Sort scenarios by expected duration, longest first, so no long scenario starts last.
+     * The sort is stable: without history every scenario gets the same estimate and feature order is kept.
+     */
+    private static void orderLongestFirst(Object[][] scenarios) {
+        ScenarioDurations durations = ScenarioDurations.load();
+        if (durations.size() == 0) {
+            return;
+        }
+        Arrays.sort(scenarios, Comparator.comparingLong(
+                (Object[] scenario) -> durations.getExpectedMillis(getKey(scenario))).reversed());
+        long known = Arrays.stream(scenarios).filter(scenario -> durations.isKnown(getKey(scenario))).count();
+        logger.info("Scheduled {} scenarios longest-first ({} with recorded durations)", scenarios.length, known);
+    }
+
+    /**
+     * Get the duration history and shard key of a data provider row
+     */
+    protected static String getKey(Object[] scenario) {
+        Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+        return ScenarioDurations.key(pickle.getUri(), pickle.getLine());
+    }
+
+    /**
+     * Feature and first error of a scenario queued for the retry pass
+     */
+    private static final class FailedScenario {
+        private final FeatureWrapper featureWrapper;
+        private final Throwable firstFailure;
+
+        private FailedScenario(FeatureWrapper featureWrapper, Throwable firstFailure) {
+            this.featureWrapper = featureWrapper;
+            this.firstFailure = firstFailure;
+        }
+    }
+}
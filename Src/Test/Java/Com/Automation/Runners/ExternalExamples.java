@@ -0,0 +1,449 @@
+package com.automation.runners;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.DataFileReader;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fills Scenario Outlines whose Examples come from a data file instead of the feature file.
+ * The Examples block is tagged @data:file (relative to test.data.path, "file.xlsx#sheet" for an Excel
+ * sheet other than the first) and holds only the header row, so a plain Cucumber run finds no examples
+ * in it. Before the run, every feature file with such a block is copied to generated.features.path
+ * with the data file's rows written into the block, and Cucumber compiles the copy like any other
+ * feature. The data file is streamed into the copy, but the expansion is eager: it is done before the
+ * first scenario runs and Cucumber holds every row's scenario from then on.
+ * Rows are filtered by @data-where:column=value tags on the Examples block (several values for one
+ * column match any of them) and by the data.row.tags tag expression, which sees the scenario's tags
+ * plus those in the row's optional "tags" column. Consecutive rows with the same tags share an Examples
+ * block carrying those tags, so Cucumber's tag filters and reports see them too.
+ */
+class ExternalExamples {
+    private static final Logger logger = LogManager.getLogger(ExternalExamples.class);
+    private static final String DATA_TAG = "@data:";
+    private static final String WHERE_TAG = "@data-where:";
+    private static final String TAGS_COLUMN = "tags";
+    private static final String FEATURE_EXTENSION = ".feature";
+    private static final Set<String> SCENARIO_KEYWORDS =
+            Set.of("Scenario", "Example", "Scenario Outline", "Scenario Template");
+    private static final Set<String> EXAMPLES_KEYWORDS = Set.of("Examples", "Scenarios");
+
+    /**
+     * Get the comma-separated feature paths to run, with every feature file that has a data file
+     * Examples block replaced by its generated copy; null when no feature file has one
+     */
+    static String generate(String featurePaths) {
+        String rowTags = ConfigReader.getDataRowTags();
+        Expression rowFilter = rowTags.isEmpty() ? null : TagExpressionParser.parse(rowTags);
+        Path outputDirectory = Paths.get(ConfigReader.getGeneratedFeaturesPath());
+        List<String> paths = new ArrayList<>();
+        boolean generated = false;
+        for (String featurePath : featurePaths.split(",")) {
+            String trimmed = featurePath.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Path path = toExistingPath(trimmed);
+            if (path == null) {
+                // classpath: URIs and paths with line filters are passed on unchanged
+                paths.add(trimmed);
+                continue;
+            }
+            for (Path feature : listFeatures(path)) {
+                List<String> lines = readLines(feature);
+                if (lines.stream().noneMatch(line -> line.trim().startsWith("@") && line.contains(DATA_TAG))) {
+                    paths.add(feature.toString());
+                    continue;
+                }
+                Path copy = outputDirectory.resolve(toRelative(feature));
+                writeCopy(feature, lines, copy, rowFilter);
+                paths.add(copy.toString());
+                generated = true;
+            }
+        }
+        return generated ? String.join(",", paths) : null;
+    }
+
+    private static Path toExistingPath(String featurePath) {
+        try {
+            Path path = Paths.get(featurePath);
+            return Files.exists(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> listFeatures(Path path) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(file -> file.toString().endsWith(FEATURE_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list feature files in " + path, e);
+        }
+    }
+
+    private static List<String> readLines(Path feature) {
+        try {
+            return Files.readAllLines(feature, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read feature file " + feature, e);
+        }
+    }
+
+    /**
+     * Get the path of a feature file's copy under generated.features.path, mirroring its path relative
+     * to the working directory
+     */
+    private static Path toRelative(Path feature) {
+        Path absolute = feature.toAbsolutePath().normalize();
+        Path workingDirectory = Paths.get("").toAbsolutePath();
+        if (absolute.startsWith(workingDirectory)) {
+            return workingDirectory.relativize(absolute);
+        }
+        return absolute.getRoot().relativize(absolute);
+    }
+
+    /**
+     * Write the copy to a temporary file first, so shards generating the same copy never read a half-written one
+     */
+    private static void writeCopy(Path feature, List<String> lines, Path copy, Expression rowFilter) {
+        try {
+            Path directory = copy.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, copy.getFileName().toString(), ".tmp");
+            try {
+                try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    new FeatureCopy(feature, lines, out, rowFilter).write();
+                }
+                Files.move(temp, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate " + copy + " from " + feature, e);
+        }
+    }
+
+    /**
+     * Get the tags on a tag line; a comment may follow them
+     */
+    private static List<String> parseTags(String line) {
+        List<String> tags = new ArrayList<>();
+        for (String token : line.trim().split("\\s+")) {
+            if (token.startsWith("#")) {
+                break;
+            }
+            if (token.startsWith("@")) {
+                tags.add(token);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Get the keyword a line starts with, e.g. "Scenario Outline"; null for steps, table rows and descriptions
+     */
+    private static String getKeyword(String trimmed) {
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+        String keyword = trimmed.substring(0, colon);
+        boolean known = "Feature".equals(keyword) || "Rule".equals(keyword) || "Background".equals(keyword)
+                || SCENARIO_KEYWORDS.contains(keyword) || EXAMPLES_KEYWORDS.contains(keyword);
+        return known ? keyword : null;
+    }
+
+    /**
+     * Get the column names of a table row
+     */
+    private static List<String> parseHeader(String line) {
+        String trimmed = line.trim();
+        String inner = trimmed.substring(1, trimmed.endsWith("|") ? trimmed.length() - 1 : trimmed.length());
+        return Arrays.stream(inner.split("\\|", -1)).map(String::trim).collect(Collectors.toList());
+    }
+
+    /**
+     * Escape a value for a Gherkin table cell
+     */
+    private static String escapeCell(String value) {
+        return value.replace("\\", "\\\\").replace("|", "\\|").replace("\n", "\\n");
+    }
+
+    private static String getIndent(String line) {
+        return line.substring(0, line.length() - line.stripLeading().length());
+    }
+
+    private static Map<String, Set<String>> getWhere(List<String> tags) {
+        Map<String, Set<String>> where = new HashMap<>();
+        for (String tag : tags) {
+            if (!tag.startsWith(WHERE_TAG)) {
+                continue;
+            }
+            String[] filter = tag.substring(WHERE_TAG.length()).split("=", 2);
+            if (filter.length != 2) {
+                throw new IllegalArgumentException("Expected " + WHERE_TAG + "column=value, got " + tag);
+            }
+            where.computeIfAbsent(filter[0], column -> new HashSet<>()).add(filter[1]);
+        }
+        return where;
+    }
+
+    /**
+     * Get the row's tags, which may be separated by spaces or commas and may omit the @
+     */
+    private static List<String> getRowTags(String rowTags) {
+        return Arrays.stream(rowTags.split("[\\s,]+"))
+                .filter(tag -> !tag.isEmpty())
+                .map(tag -> tag.startsWith("@") ? tag : "@" + tag)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copies one feature file line by line, keeping track of the tags each Examples block inherits
+     */
+    private static final class FeatureCopy {
+        private final Path feature;
+        private final List<String> lines;
+        private final Writer out;
+        private final Expression rowFilter;
+        // Tag, comment and blank lines since the last keyword, written once the keyword is known
+        private final List<String> pending = new ArrayList<>();
+        private final List<String> pendingTags = new ArrayList<>();
+        private List<String> featureTags = List.of();
+        private List<String> ruleTags = List.of();
+        private List<String> scenarioTags = List.of();
+        private String scenarioName = "";
+
+        private FeatureCopy(Path feature, List<String> lines, Writer out, Expression rowFilter) {
+            this.feature = feature;
+            this.lines = lines;
+            this.out = out;
+            this.rowFilter = rowFilter;
+        }
+
+        private void write() throws IOException {
+            int index = 0;
+            while (index < lines.size()) {
+                String line = lines.get(index);
+                String trimmed = line.trim();
+                if (trimmed.startsWith("@")) {
+                    pending.add(line);
+                    pendingTags.addAll(parseTags(trimmed));
+                    index++;
+                    continue;
+                }
+                if ((trimmed.isEmpty() || trimmed.startsWith("#")) && !pending.isEmpty()) {
+                    pending.add(line);
+                    index++;
+                    continue;
+                }
+                String keyword = getKeyword(trimmed);
+                List<String> tags = List.copyOf(pendingTags);
+                if (EXAMPLES_KEYWORDS.contains(keyword) && getSource(tags) != null) {
+                    index = writeExamples(index, tags);
+                } else {
+                    if ("Feature".equals(keyword)) {
+                        featureTags = tags;
+                    } else if ("Rule".equals(keyword)) {
+                        ruleTags = tags;
+                    } else if (SCENARIO_KEYWORDS.contains(keyword)) {
+                        scenarioTags = tags;
+                        scenarioName = trimmed.substring(keyword.length() + 1).trim();
+                    }
+                    for (String pendingLine : pending) {
+                        writeLine(pendingLine);
+                    }
+                    writeLine(line);
+                    index++;
+                }
+                pending.clear();
+                pendingTags.clear();
+            }
+        }
+
+        private String getSource(List<String> tags) {
+            return tags.stream()
+                    .filter(tag -> tag.startsWith(DATA_TAG))
+                    .map(tag -> tag.substring(DATA_TAG.length()))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        /**
+         * Write the data file Examples block whose keyword is at keywordIndex; returns the index of the
+         * line after its header row
+         */
+        private int writeExamples(int keywordIndex, List<String> examplesTags) throws IOException {
+            int headerIndex = keywordIndex + 1;
+            while (headerIndex < lines.size() && !lines.get(headerIndex).trim().startsWith("|")) {
+                headerIndex++;
+            }
+            if (headerIndex == lines.size()) {
+                throw new IllegalArgumentException(feature + ":" + (keywordIndex + 1)
+                        + ": Examples tagged " + DATA_TAG + " need a header row");
+            }
+            for (int next = headerIndex + 1; next < lines.size(); next++) {
+                String trimmed = lines.get(next).trim();
+                if (trimmed.startsWith("|")) {
+                    throw new IllegalArgumentException(feature + ":" + (next + 1) + ": Examples tagged "
+                            + DATA_TAG + " take their rows from the data file; keep only the header row");
+                }
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    break;
+                }
+            }
+
+            String source = getSource(examplesTags);
+            int sheetSeparator = source.indexOf('#');
+            Path file = Paths.get(ConfigReader.getTestDataPath(),
+                    sheetSeparator < 0 ? source : source.substring(0, sheetSeparator));
+            String sheet = sheetSeparator < 0 ? null : source.substring(sheetSeparator + 1);
+            Set<String> inherited = new LinkedHashSet<>();
+            Stream.of(featureTags, ruleTags, scenarioTags, examplesTags).forEach(inherited::addAll);
+
+            long start = System.nanoTime();
+            ExamplesWriter writer = new ExamplesWriter(file, List.copyOf(inherited), getWhere(examplesTags),
+                    List.copyOf(pending), lines.subList(keywordIndex, headerIndex), lines.get(headerIndex));
+            try {
+                DataFileReader.read(file, sheet, writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+            logger.info("Generated {} of {} row(s) of {} into '{}' in {} ms", writer.written, writer.rowNumber,
+                    file, scenarioName, (System.nanoTime() - start) / 1_000_000);
+            if (writer.written == 0) {
+                logger.warn("No row of {} matches the filters of '{}'", file, scenarioName);
+            }
+            return headerIndex + 1;
+        }
+
+        private void writeLine(String line) throws IOException {
+            out.write(line);
+            out.write(System.lineSeparator());
+        }
+
+        /**
+         * Writes the selected rows of a data file, starting a new Examples block whenever the row tags change
+         */
+        private final class ExamplesWriter implements Consumer<Map<String, String>> {
+            private final Path file;
+            private final List<String> inherited;
+            private final Map<String, Set<String>> where;
+            private final List<String> tagLines;
+            private final List<String> blockLines;
+            private final String header;
+            private final List<String> columns;
+            private List<String> blockTags;
+            private int rowNumber;
+            private int written;
+
+            private ExamplesWriter(Path file, List<String> inherited, Map<String, Set<String>> where,
+                                   List<String> tagLines, List<String> blockLines, String header) {
+                this.file = file;
+                this.inherited = inherited;
+                this.where = where;
+                this.tagLines = tagLines;
+                this.blockLines = blockLines;
+                this.header = header;
+                this.columns = parseHeader(header);
+            }
+
+            @Override
+            public void accept(Map<String, String> row) {
+                if (++rowNumber == 1) {
+                    checkColumns(row.keySet());
+                }
+                boolean selected = where.entrySet().stream()
+                        .allMatch(filter -> filter.getValue().contains(row.get(filter.getKey())));
+                if (!selected) {
+                    return;
+                }
+                List<String> rowTags = getRowTags(row.getOrDefault(TAGS_COLUMN, ""));
+                if (rowFilter != null) {
+                    List<String> tags = new ArrayList<>(inherited);
+                    tags.addAll(rowTags);
+                    if (!rowFilter.evaluate(tags)) {
+                        return;
+                    }
+                }
+                try {
+                    if (!rowTags.equals(blockTags)) {
+                        startBlock(rowTags);
+                    }
+                    writeLine(columns.stream()
+                            .map(column -> escapeCell(row.getOrDefault(column, "")))
+                            .collect(Collectors.joining(" | ", getIndent(header) + "| ", " |")));
+                    written++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            /**
+             * Write a header-only block when no row was selected, so the outline stays valid and runs nothing
+             */
+            private void finish() throws IOException {
+                if (blockTags == null) {
+                    startBlock(List.of());
+                }
+            }
+
+            private void startBlock(List<String> rowTags) throws IOException {
+                if (blockTags != null) {
+                    writeLine("");
+                }
+                blockTags = rowTags;
+                for (String line : tagLines) {
+                    writeLine(line);
+                }
+                if (!rowTags.isEmpty()) {
+                    writeLine(getIndent(blockLines.get(0)) + String.join(" ", rowTags));
+                }
+                for (String line : blockLines) {
+                    writeLine(line);
+                }
+                writeLine(header);
+            }
+
+            private void checkColumns(Set<String> fileColumns) {
+                Set<String> missing = new LinkedHashSet<>(columns);
+                missing.addAll(where.keySet());
+                missing.removeAll(fileColumns);
+                if (!missing.isEmpty()) {
+                    throw new IllegalArgumentException("Data file " + file + " has no column(s) " + missing
+                            + " used by '" + scenarioName + "' in " + feature + "; columns: " + fileColumns);
+                }
+            }
+        }
+    }
+}
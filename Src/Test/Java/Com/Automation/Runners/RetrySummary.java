@@ -0,0 +1,87 @@
+package com.automation.runners;
+
+import io.cucumber.testng.Pickle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * First-attempt and final status of every retried scenario, and the time the retry pass cost
+ * compared with rerunning the whole main pass
+ */
+class RetrySummary {
+    private static final Logger logger = LogManager.getLogger(RetrySummary.class);
+
+    private final List<Map<String, Object>> scenarios = new ArrayList<>();
+    private long mainPassStartNanos;
+    private long mainPassNanos;
+    private long retryPassNanos;
+
+    void startMainPass() {
+        mainPassStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of the main pass; only the first call counts
+     */
+    synchronized void finishMainPass() {
+        if (mainPassNanos == 0) {
+            mainPassNanos = System.nanoTime() - mainPassStartNanos;
+        }
+    }
+
+    synchronized void record(Pickle pickle, String firstAttemptError, boolean passed, int attempts, long nanos) {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("name", pickle.getName());
+        scenario.put("uri", pickle.getUri().toString());
+        scenario.put("line", pickle.getLine());
+        scenario.put("firstAttempt", "FAILED");
+        scenario.put("firstAttemptError", firstAttemptError);
+        scenario.put("finalStatus", passed ? "PASSED" : "FAILED");
+        scenario.put("retryAttempts", attempts);
+        scenario.put("retryMs", nanos / 1_000_000);
+        scenarios.add(scenario);
+        retryPassNanos += nanos;
+    }
+
+    /**
+     * Write the summary as JSON and log the retry cost
+     */
+    synchronized void write(String outputFile) {
+        long mainPassMs = mainPassNanos / 1_000_000;
+        long retryPassMs = retryPassNanos / 1_000_000;
+        long recovered = scenarios.stream().filter(scenario -> "PASSED".equals(scenario.get("finalStatus"))).count();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("retried", scenarios.size());
+        summary.put("passedOnRetry", recovered);
+        summary.put("mainPassMs", mainPassMs);
+        summary.put("retryPassMs", retryPassMs);
+        // A full rerun would repeat the whole main pass
+        summary.put("fullRerunMs", mainPassMs);
+        summary.put("scenarios", scenarios);
+
+        Path file = Paths.get(outputFile);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(summary).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write retry summary to {}", file, e);
+        }
+        if (scenarios.isEmpty()) {
+            return;
+        }
+        logger.info("Retry pass: {} of {} failed scenarios passed on retry in {} ms (full rerun: about {} ms)",
+                recovered, scenarios.size(), retryPassMs, mainPassMs);
+    }
+}
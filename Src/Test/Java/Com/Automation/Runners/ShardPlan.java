@@ -0,0 +1,138 @@
+package com.automation.runners;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ScenarioDurations;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deterministic split of a runner's scenarios into shard.total shards. Scenarios are sorted by feature
+ * path and line and dealt out round-robin, or with shard.balance=true handed longest-first to the shard
+ * with the least expected time. Every shard computes the same split as long as it sees the same
+ * scenarios and, when balancing, the same scenario durations file.
+ */
+class ShardPlan {
+    private static final Logger logger = LogManager.getLogger(ShardPlan.class);
+
+    private final int index;
+    private final int total;
+
+    ShardPlan(int index, int total) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException(
+                    "shard.index must be between 1 and shard.total, got " + index + " of " + total);
+        }
+        this.index = index;
+        this.total = total;
+    }
+
+    static ShardPlan fromConfig() {
+        return new ShardPlan(ConfigReader.getShardIndex(), ConfigReader.getShardTotal());
+    }
+
+    boolean isSharded() {
+        return total > 1;
+    }
+
+    /**
+     * Get the suffix that keeps this shard's output files apart, empty when not sharded
+     */
+    String getSuffix() {
+        return isSharded() ? "-shard-" + index + "-of-" + total : "";
+    }
+
+    /**
+     * Insert the shard suffix before the extension of a report path
+     */
+    String withSuffix(String path) {
+        int extension = path.lastIndexOf('.');
+        return extension < 0 ? path + getSuffix()
+                : path.substring(0, extension) + getSuffix() + path.substring(extension);
+    }
+
+    /**
+     * Keep this shard's scenarios and write the shard manifests under shard.manifest.dir
+     */
+    Object[][] select(Object[][] scenarios, String runnerName) {
+        if (!isSharded()) {
+            return scenarios;
+        }
+        Object[][] sorted = scenarios.clone();
+        Arrays.sort(sorted, Comparator.comparing(BaseRunner::getKey));
+        int[] shards = ConfigReader.isShardBalanced() ? assignByDuration(sorted) : assignRoundRobin(sorted.length);
+
+        List<Object[]> selected = new ArrayList<>();
+        List<String> selectedKeys = new ArrayList<>();
+        List<String> plan = new ArrayList<>();
+        for (int i = 0; i < sorted.length; i++) {
+            String key = BaseRunner.getKey(sorted[i]);
+            plan.add(shards[i] + " " + key);
+            if (shards[i] == index) {
+                selected.add(sorted[i]);
+                selectedKeys.add(key);
+            }
+        }
+        writeManifest(runnerName + getSuffix() + ".txt", selectedKeys);
+        writeManifest(runnerName + getSuffix() + ".plan", plan);
+        logger.info("Shard {} of {}: running {} of {} scenarios", index, total, selected.size(), sorted.length);
+        return selected.toArray(new Object[0][]);
+    }
+
+    private int[] assignRoundRobin(int count) {
+        int[] shards = new int[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = i % total + 1;
+        }
+        return shards;
+    }
+
+    /**
+     * Longest-processing-time assignment: each scenario, longest first, goes to the least loaded shard.
+     * Ties go to the lower index so every shard reaches the same result.
+     */
+    private int[] assignByDuration(Object[][] sorted) {
+        ScenarioDurations durations = ScenarioDurations.load();
+        long[] expected = new long[sorted.length];
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            expected[i] = durations.getExpectedMillis(BaseRunner.getKey(sorted[i]));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> expected[i]).reversed());
+
+        int[] shards = new int[sorted.length];
+        long[] load = new long[total];
+        for (int i : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            load[lightest] += expected[i];
+            shards[i] = lightest + 1;
+        }
+        logger.info("Balanced shards by {} recorded durations; expected time of shard {}: {} s",
+                durations.size(), index, load[index - 1] / 1000);
+        return shards;
+    }
+
+    private static void writeManifest(String fileName, List<String> lines) {
+        Path file = Paths.get(ConfigReader.getShardManifestDir(), fileName);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines);
+        } catch (IOException e) {
+            logger.warn("Failed to write shard manifest {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.automation.runners;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
-import org.testng.annotations.DataProvider;
+
+import java.util.List;
 
 /**
  * TestNG Runner class for Smoke tests
@@ -12,19 +12,25 @@ import org.testng.annotations.DataProvider;
         glue = {"com.automation.stepdefinitions", "com.automation.hooks"},
         tags = "@smoke",
         plugin = {
-                "pretty",
-                "html:target/cucumber-reports/smoke-test-report.html",
-                "json:target/cucumber-reports/smoke-test-report.json",
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+                "com.automation.plugins.StepLatencyPlugin:target/perf-reports/smoke-step-latency.json",
+                "com.automation.plugins.ScenarioDurationPlugin:target/perf-reports/smoke-schedule-summary.json"
         },
         monochrome = true,
         dryRun = false
 )
-public class SmokeTestRunner extends AbstractTestNGCucumberTests {
+public class SmokeTestRunner extends BaseRunner {
+
+    @Override
+    protected List<String> getReportPlugins(String shardSuffix) {
+        return List.of(
+                "pretty",
+                "html:target/cucumber-reports/smoke-test-report" + shardSuffix + ".html",
+                "json:target/cucumber-reports/smoke-test-report" + shardSuffix + ".json",
+                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:");
+    }
 
     @Override
-    @DataProvider(parallel = false)
-    public Object[][] scenarios() {
-        return super.scenarios();
+    protected String getRetrySummaryFile() {
+        return "target/perf-reports/smoke-retry-summary.json";
     }
 }
@@ -0,0 +1,52 @@
+package com.automation.runners;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.DriverManager;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import java.util.List;
+
+/**
+ * TestNG Runner that runs the regression features on stress.threads threads
+ * against the embedded local site, with cross-scenario leak checks enabled.
+ * Retries are off so an intermittent leak fails the run.
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = {"com.automation.stepdefinitions", "com.automation.hooks"},
+        tags = "@regression",
+        monochrome = true,
+        dryRun = false
+)
+public class StressTestRunner extends BaseRunner {
+
+    @BeforeClass(alwaysRun = true)
+    public void enableStressChecks() {
+        System.setProperty("app.mode", "local");
+        System.setProperty("leak.check", "true");
+        System.setProperty("retry.count", "0");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void verifyDriversReleased() {
+        System.clearProperty("app.mode");
+        System.clearProperty("leak.check");
+        System.clearProperty("retry.count");
+        int leased = DriverManager.getLeasedDriverCount();
+        if (leased != 0) {
+            throw new IllegalStateException(leased + " driver(s) still leased after the stress run");
+        }
+    }
+
+    @Override
+    protected List<String> getReportPlugins(String shardSuffix) {
+        return List.of("json:target/cucumber-reports/stress-test-report" + shardSuffix + ".json");
+    }
+
+    @Override
+    protected int getThreadCount() {
+        return Integer.parseInt(ConfigReader.getProperty("stress.threads", "4"));
+    }
+}
@@ -1,31 +1,34 @@
 package com.automation.runners;
 
-import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
-import org.testng.annotations.DataProvider;
+
+import java.util.List;
 
 /**
- * TestNG Runner class for Cucumber tests
+ * TestNG Runner class for Cucumber tests.
+ * Report plugins are added by getReportPlugins so each shard writes its own reports and, with
+ * report.async, so they run off the scenario threads.
  */
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"com.automation.stepdefinitions", "com.automation.hooks"},
         tags = "@regression",
         plugin = {
-                "pretty",
-                "html:target/cucumber-reports/cucumber.html",
-                "json:target/cucumber-reports/cucumber.json",
-                "junit:target/cucumber-reports/cucumber.xml",
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+                "com.automation.plugins.StepLatencyPlugin:target/perf-reports/step-latency.json",
+                "com.automation.plugins.ScenarioDurationPlugin:target/perf-reports/schedule-summary.json"
         },
         monochrome = true,
         dryRun = false
 )
-public class TestRunner extends AbstractTestNGCucumberTests {
+public class TestRunner extends BaseRunner {
 
     @Override
-    @DataProvider(parallel = false)
-    public Object[][] scenarios() {
-        return super.scenarios();
+    protected List<String> getReportPlugins(String shardSuffix) {
+        return List.of(
+                "pretty",
+                "html:target/cucumber-reports/cucumber" + shardSuffix + ".html",
+                "json:target/cucumber-reports/cucumber" + shardSuffix + ".json",
+                "junit:target/cucumber-reports/cucumber" + shardSuffix + ".xml",
+                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:");
     }
 }
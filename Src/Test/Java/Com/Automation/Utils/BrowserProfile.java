@@ -0,0 +1,107 @@
+package com.automation.utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Named browser profiles selected with browser.profile.
+ * "default" keeps the normal page-load strategy and a maximized window;
+ * "fast" loads pages eagerly, blocks images and web fonts, uses a fixed viewport and turns off
+ * extensions, GPU and background services. Both profiles run headless only when headless is set.
+ */
+public class BrowserProfile {
+    public static final String DEFAULT = "default";
+    public static final String FAST = "fast";
+
+    /**
+     * Check if the fast profile is selected
+     */
+    public static boolean isFast() {
+        String profile = ConfigReader.getBrowserProfile().toLowerCase();
+        if (!FAST.equals(profile) && !DEFAULT.equals(profile)) {
+            throw new IllegalArgumentException("Browser profile not supported: " + profile);
+        }
+        return FAST.equals(profile);
+    }
+
+    /**
+     * Apply the selected profile to Chrome or Edge options
+     */
+    public static void apply(ChromiumOptions<?> options, boolean headless) {
+        if (!isFast()) {
+            if (headless) {
+                options.addArguments("--headless");
+            }
+            options.addArguments("--start-maximized");
+            return;
+        }
+        int[] size = getWindowSize();
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--window-size=" + size[0] + "," + size[1]);
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--disable-remote-fonts");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--disable-sync");
+        options.addArguments("--no-first-run");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+    }
+
+    /**
+     * Apply the selected profile to Firefox options
+     */
+    public static void apply(FirefoxOptions options, boolean headless) {
+        if (!isFast()) {
+            if (headless) {
+                options.addArguments("--headless");
+            }
+            return;
+        }
+        int[] size = getWindowSize();
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        if (headless) {
+            options.addArguments("--headless");
+        }
+        options.addArguments("--width=" + size[0]);
+        options.addArguments("--height=" + size[1]);
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("browser.display.use_document_fonts", 0);
+        options.addPreference("gfx.downloadable_fonts.enabled", false);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("network.prefetch-next", false);
+    }
+
+    /**
+     * Check if the window should be maximized after start; the fast profile keeps its fixed viewport
+     */
+    public static boolean shouldMaximize() {
+        return !isFast();
+    }
+
+    private static int[] getWindowSize() {
+        String[] parts = ConfigReader.getWindowSize().split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("window.size must be 'width,height': " + ConfigReader.getWindowSize());
+        }
+        return new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
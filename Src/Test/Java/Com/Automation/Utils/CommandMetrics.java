@@ -0,0 +1,209 @@
+package com.automation.utils;
+
+import io.cucumber.java.Scenario;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts and times every WebDriver command issued through a driver decorated with getListener(),
+ * by command type and by calling page-object method, per scenario and for the whole run
+ */
+public class CommandMetrics {
+    private static final Logger logger = LogManager.getLogger(CommandMetrics.class);
+    private static final String OUTPUT_DIR = "target/perf-reports/webdriver-commands";
+    private static final String OUTSIDE_PAGES = "(outside page objects)";
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final WebDriverListener listener = new Listener();
+
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Map<String, Stats>> scenarioCommands = ThreadLocal.withInitial(TreeMap::new);
+    private static final ThreadLocal<Map<String, Stats>> scenarioPageMethods = ThreadLocal.withInitial(TreeMap::new);
+    private static final Map<String, Stats> runCommands = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> runPageMethods = new ConcurrentHashMap<>();
+
+    static {
+        ShutdownHooks.register("command-metrics", CommandMetrics::writeRunSummary);
+    }
+
+    /**
+     * Get the listener to decorate drivers with
+     */
+    public static WebDriverListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Start counting commands for the scenario on the current thread
+     */
+    public static void startScenario() {
+        startTimes.get().clear();
+        scenarioCommands.get().clear();
+        scenarioPageMethods.get().clear();
+    }
+
+    /**
+     * Write the current thread's scenario metrics to a file, add them to the run totals
+     * and return a short text summary for the report
+     */
+    public static String finishScenario(Scenario scenario) {
+        Map<String, Stats> commands = scenarioCommands.get();
+        Map<String, Stats> pageMethods = scenarioPageMethods.get();
+        commands.forEach((name, stats) -> runCommands.computeIfAbsent(name, key -> new Stats()).add(stats));
+        pageMethods.forEach((name, stats) -> runPageMethods.computeIfAbsent(name, key -> new Stats()).add(stats));
+
+        String fileName = scenario.getName().replaceAll("[^A-Za-z0-9]+", "_") + "_" + scenario.getLine() + ".json";
+        write(Paths.get(OUTPUT_DIR, fileName), toJson(scenario.getName(), commands, pageMethods));
+
+        StringBuilder summary = new StringBuilder();
+        long total = commands.values().stream().mapToLong(stats -> stats.count).sum();
+        summary.append("WebDriver commands: ").append(total).append('\n');
+        pageMethods.forEach((name, stats) -> summary.append(name).append(": ").append(stats).append('\n'));
+        return summary.toString();
+    }
+
+    /**
+     * Write totals for the whole run
+     */
+    public static void writeRunSummary() {
+        if (runCommands.isEmpty()) {
+            return;
+        }
+        write(Paths.get(OUTPUT_DIR, "run-summary.json"),
+                toJson("run", new TreeMap<>(runCommands), new TreeMap<>(runPageMethods)));
+    }
+
+    private static void record(Object target, Method method) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        scenarioCommands.get().computeIfAbsent(getCommandName(target, method), key -> new Stats()).record(nanos);
+        scenarioPageMethods.get().computeIfAbsent(getPageMethod(), key -> new Stats()).record(nanos);
+    }
+
+    private static String getCommandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+
+    /**
+     * Find the outermost page-object method on the call stack
+     */
+    private static String getPageMethod() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.automation.pages."))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse(OUTSIDE_PAGES));
+    }
+
+    private static String toJson(String name, Map<String, Stats> commands, Map<String, Stats> pageMethods) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", name);
+        json.put("commands", toSummary(commands));
+        json.put("pageMethods", toSummary(pageMethods));
+        return new Json().toJson(json);
+    }
+
+    private static Map<String, Object> toSummary(Map<String, Stats> stats) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        stats.forEach((name, value) -> summary.put(name, value.toMap()));
+        return summary;
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write command metrics to {}", file, e);
+        }
+    }
+
+    /**
+     * Count and timing of one command type or page method
+     */
+    private static final class Stats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private synchronized void add(Stats other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+        }
+
+        private synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalMs", totalNanos / 1_000_000.0);
+            map.put("maxMs", maxNanos / 1_000_000.0);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return count + " commands, " + totalNanos / 1_000_000 + " ms";
+        }
+    }
+
+    /**
+     * Times every intercepted call; calls inherited from Object are not WebDriver commands
+     */
+    private static final class Listener implements WebDriverListener {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (method.getDeclaringClass() != Object.class) {
+                startTimes.get().push(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            if (method.getDeclaringClass() != Object.class) {
+                record(target, method);
+            }
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            if (method.getDeclaringClass() != Object.class) {
+                record(target, method);
+            }
+        }
+    }
+}
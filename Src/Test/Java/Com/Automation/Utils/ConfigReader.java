@@ -2,10 +2,13 @@ package com.automation.utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
- * Utility class to read configuration from properties file
+ * Utility class to read configuration from properties file.
+ * System properties (-Dkey=value) take precedence over the file.
  */
 public class ConfigReader {
     private static Properties properties;
@@ -21,13 +24,15 @@ public class ConfigReader {
             e.printStackTrace();
             throw new RuntimeException("Failed to load configuration file: " + CONFIG_FILE_PATH);
         }
+        // Log4j's own shutdown hook is disabled, so every JVM that reads the config needs this one
+        ShutdownHooks.install();
     }
 
     /**
      * Get property value by key
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if (value == null) {
             throw new RuntimeException("Property '" + key + "' not found in config file");
         }
@@ -38,7 +43,7 @@ public class ConfigReader {
      * Get property with default value
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
 
     /**
@@ -56,17 +61,62 @@ public class ConfigReader {
     }
 
     /**
-     * Get application URL
+     * Get browser profile name: "default" or "fast"
+     */
+    public static String getBrowserProfile() {
+        return getProperty("browser.profile", "default");
+    }
+
+    /**
+     * Get viewport size used by the fast profile, as "width,height"
+     */
+    public static String getWindowSize() {
+        return getProperty("window.size", "1920,1080");
+    }
+
+    /**
+     * Get application URL; in local mode this is the embedded local site, started on first use
      */
     public static String getAppUrl() {
+        if (isLocalMode()) {
+            return LocalSiteServer.getShared().getBaseUrl();
+        }
         return getProperty("app.url");
     }
 
     /**
-     * Get implicit wait timeout
+     * Check if tests run against the embedded local site (app.mode=local) instead of app.url
      */
-    public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+    public static boolean isLocalMode() {
+        return "local".equalsIgnoreCase(getProperty("app.mode", "remote"));
+    }
+
+    /**
+     * Get number of products served by the local site
+     */
+    public static int getLocalCatalogueSize() {
+        return Integer.parseInt(getProperty("local.catalogue.size", "6"));
+    }
+
+    /**
+     * Get port of the local site; 0 picks a free port
+     */
+    public static int getLocalSitePort() {
+        return Integer.parseInt(getProperty("local.site.port", "0"));
+    }
+
+    /**
+     * Get fast-fail budget for negative checks, in milliseconds
+     */
+    public static int getNegativeCheckTimeoutMillis() {
+        return Integer.parseInt(getProperty("negative.check.timeout.millis", "500"));
+    }
+
+    /**
+     * Get polling interval for explicit waits, in milliseconds
+     */
+    public static int getWaitPollingMillis() {
+        return Integer.parseInt(getProperty("wait.polling.millis", "100"));
     }
 
     /**
@@ -82,4 +132,367 @@ public class ConfigReader {
     public static int getPageLoadTimeout() {
         return Integer.parseInt(getProperty("page.load.timeout", "30"));
     }
+
+    /**
+     * Check if pooled driver mode is enabled
+     */
+    public static boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "false"));
+    }
+
+    /**
+     * Get number of scenarios a pooled driver may serve before it is replaced
+     */
+    public static int getDriverPoolMaxReuse() {
+        return Integer.parseInt(getProperty("driver.pool.max.reuse", "20"));
+    }
+
+    /**
+     * Check if browsers are launched ahead of time on a background executor
+     */
+    public static boolean isDriverPrefetchEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.prefetch.enabled", "false"));
+    }
+
+    /**
+     * Get number of browsers kept starting or ready for the next scenarios
+     */
+    public static int getDriverPrefetchCount() {
+        return Integer.parseInt(getProperty("driver.prefetch.count", "2"));
+    }
+
+    /**
+     * Get number of threads that launch prefetched browsers
+     */
+    public static int getDriverPrefetchThreads() {
+        return Integer.parseInt(getProperty("driver.prefetch.threads", "2"));
+    }
+
+    /**
+     * Get number of consecutive startup failures after which prefetching stops; 0 never stops it
+     */
+    public static int getDriverPrefetchMaxFailures() {
+        return Integer.parseInt(getProperty("driver.prefetch.max.failures", "3"));
+    }
+
+    /**
+     * Get path of the JSON file with prefetch counters and hidden startup time
+     */
+    public static String getDriverPrefetchStatsFile() {
+        return getProperty("driver.prefetch.stats.file", "target/perf-reports/driver-prefetch.json");
+    }
+
+    /**
+     * Check if scenarios should run in parallel
+     */
+    public static boolean isParallel() {
+        return Boolean.parseBoolean(getProperty("parallel", "false"));
+    }
+
+    /**
+     * Get number of scenario threads, defaulting to the number of available cores
+     */
+    public static int getThreadCount() {
+        if (!isParallel()) {
+            return 1;
+        }
+        return Integer.parseInt(getProperty("thread.count",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * Check if cross-scenario leak detection is enabled
+     */
+    public static boolean isLeakCheckEnabled() {
+        return Boolean.parseBoolean(getProperty("leak.check", "false"));
+    }
+
+    /**
+     * Get path of the file that remembers resolved driver binaries between runs
+     */
+    public static String getDriverCacheFile() {
+        return getProperty("driver.cache.file",
+                System.getProperty("user.home") + "/.cache/selenium-bdd/drivers.properties");
+    }
+
+    /**
+     * Check if drivers must be resolved from the cache file only, without network access
+     */
+    public static boolean isDriverOffline() {
+        return Boolean.parseBoolean(getProperty("driver.offline", "false"));
+    }
+
+    /**
+     * Check if logins may be replayed from cached sessions
+     */
+    public static boolean isSessionCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("session.cache.enabled", "false"));
+    }
+
+    /**
+     * Get how long a cached session may be replayed, in seconds
+     */
+    public static long getSessionCacheTtlSeconds() {
+        return Long.parseLong(getProperty("session.cache.ttl.seconds", "600"));
+    }
+
+    /**
+     * Check if WebDriver commands should be counted and timed
+     */
+    public static boolean isCommandMetricsEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.command.metrics", "false"));
+    }
+
+    /**
+     * Check if Chromium drivers should block and cache network traffic through DevTools
+     */
+    public static boolean isNetworkInterceptionEnabled() {
+        return Boolean.parseBoolean(getProperty("network.interception.enabled", "false"));
+    }
+
+    /**
+     * Get URL fragments whose requests are blocked
+     */
+    public static List<String> getNetworkBlockPatterns() {
+        return getList("network.block.patterns", "");
+    }
+
+    /**
+     * Get URL path suffixes of static assets served from the network cache
+     */
+    public static List<String> getNetworkCacheExtensions() {
+        return getList("network.cache.extensions", ".js,.css,.png,.jpg,.jpeg,.gif,.svg,.ico,.woff,.woff2,.ttf");
+    }
+
+    /**
+     * Get directory of the on-disk static asset cache
+     */
+    public static String getNetworkCacheDir() {
+        return getProperty("network.cache.dir", "target/network-cache");
+    }
+
+    /**
+     * Check if scenarios are ordered longest-first using recorded durations
+     */
+    public static boolean isLongestFirstScheduling() {
+        return Boolean.parseBoolean(getProperty("schedule.longest.first", "true"));
+    }
+
+    /**
+     * Get path of the file that records scenario durations between runs
+     */
+    public static String getScenarioDurationsFile() {
+        return getProperty("scenario.durations.file",
+                System.getProperty("user.home") + "/.cache/selenium-bdd/scenario-durations.properties");
+    }
+
+    /**
+     * Get expected duration of a scenario when no durations have been recorded, in milliseconds
+     */
+    public static long getDefaultScenarioMillis() {
+        return Long.parseLong(getProperty("scenario.default.duration.ms", "10000"));
+    }
+
+    /**
+     * Get number of times a failed scenario is retried after the main pass; 0 disables retries
+     */
+    public static int getRetryCount() {
+        return Integer.parseInt(getProperty("retry.count", "0"));
+    }
+
+    /**
+     * Get time the retry pass may take in seconds; 0 means no limit
+     */
+    public static long getRetryTimeBudgetSeconds() {
+        return Long.parseLong(getProperty("retry.time.budget.seconds", "0"));
+    }
+
+    /**
+     * Get the 1-based index of the shard this run executes
+     */
+    public static int getShardIndex() {
+        return Integer.parseInt(getProperty("shard.index", "1"));
+    }
+
+    /**
+     * Get number of shards the scenarios are split into; 1 runs every scenario
+     */
+    public static int getShardTotal() {
+        return Integer.parseInt(getProperty("shard.total", "1"));
+    }
+
+    /**
+     * Check if shards are balanced by recorded scenario durations instead of scenario count
+     */
+    public static boolean isShardBalanced() {
+        return Boolean.parseBoolean(getProperty("shard.balance", "false"));
+    }
+
+    /**
+     * Get directory the shard manifests are written to
+     */
+    public static String getShardManifestDir() {
+        return getProperty("shard.manifest.dir", "target/shards");
+    }
+
+    /**
+     * Check if a screenshot is taken when a scenario fails
+     */
+    public static boolean isScreenshotOnFailure() {
+        return Boolean.parseBoolean(getProperty("screenshot.on.failure", "true"));
+    }
+
+    /**
+     * Check if a screenshot is taken when a scenario passes
+     */
+    public static boolean isScreenshotOnPass() {
+        return Boolean.parseBoolean(getProperty("screenshot.on.pass", "false"));
+    }
+
+    /**
+     * Get directory screenshots are written to
+     */
+    public static String getScreenshotDir() {
+        return getProperty("screenshot.dir", "target/screenshots/");
+    }
+
+    /**
+     * Get screenshot directory as seen from the report directories
+     */
+    public static String getScreenshotRelativePath() {
+        return getProperty("screenshot.rel.path", "../screenshots/");
+    }
+
+    /**
+     * Get width screenshots are scaled down to, in pixels
+     */
+    public static int getScreenshotMaxWidth() {
+        return Integer.parseInt(getProperty("screenshot.max.width", "1280"));
+    }
+
+    /**
+     * Get JPEG quality of stored screenshots, from 0.0 to 1.0
+     */
+    public static float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshot.jpeg.quality", "0.7"));
+    }
+
+    /**
+     * Get disk space screenshots may use per run, in bytes
+     */
+    public static long getScreenshotDiskBudgetBytes() {
+        return Long.parseLong(getProperty("screenshot.disk.budget.mb", "200")) * 1024 * 1024;
+    }
+
+    /**
+     * Get number of background threads compressing and writing screenshots
+     */
+    public static int getScreenshotThreads() {
+        return Integer.parseInt(getProperty("screenshot.threads", "2"));
+    }
+
+    /**
+     * Get number of screenshots that may wait for a writer thread
+     */
+    public static int getScreenshotQueueSize() {
+        return Integer.parseInt(getProperty("screenshot.queue.size", "16"));
+    }
+
+    /**
+     * Get directory the Cucumber reports are written to
+     */
+    public static String getReportPath() {
+        return getProperty("report.path", "target/cucumber-reports/");
+    }
+
+    /**
+     * Get path of the Cucumber JSON report merged from all runners and shards
+     */
+    public static String getMergedReportFile() {
+        return getProperty("report.merged.file", "target/merged-reports/cucumber.json");
+    }
+
+    /**
+     * Get size above which an embedded attachment is moved out of the merged report, in bytes
+     */
+    public static long getReportAttachmentInlineMaxBytes() {
+        return Long.parseLong(getProperty("report.attachment.inline.max.bytes", "4096"));
+    }
+
+    /**
+     * Get the moved-out attachments directory as seen from the HTML report pages
+     */
+    public static String getReportAttachmentRelativePath() {
+        return getProperty("report.attachment.rel.path", "../../merged-reports/attachments/");
+    }
+
+    /**
+     * Check if report plugins are fed from a background thread through AsyncReporterPlugin
+     */
+    public static boolean isAsyncReporting() {
+        return Boolean.parseBoolean(getProperty("report.async", "true"));
+    }
+
+    /**
+     * Get number of event batches (one per scenario) that may wait for the report writer thread
+     */
+    public static int getAsyncReportQueueSize() {
+        return Integer.parseInt(getProperty("report.async.queue.size", "256"));
+    }
+
+    /**
+     * Get time the end of the run waits for queued report events to be written, in seconds
+     */
+    public static long getAsyncReportFlushTimeoutSeconds() {
+        return Long.parseLong(getProperty("report.async.flush.timeout.seconds", "120"));
+    }
+
+    /**
+     * Get path of the async reporter queue statistics
+     */
+    public static String getAsyncReportStatsFile() {
+        return getProperty("report.async.stats.file", "target/perf-reports/async-reporter.json");
+    }
+
+    /**
+     * Get directory holding the test data files
+     */
+    public static String getTestDataPath() {
+        return getProperty("test.data.path", "src/test/resources/testdata/");
+    }
+
+    /**
+     * Get name of the JSON test data file in the test data directory
+     */
+    public static String getTestDataFile() {
+        return getProperty("test.data.file", "testdata.json");
+    }
+
+    /**
+     * Get name of the optional Excel test data workbook in the test data directory; empty when not used
+     */
+    public static String getTestDataExcel() {
+        return getProperty("test.data.excel", "");
+    }
+
+    /**
+     * Get tag expression that rows of data file outlines must match, e.g. "not @slow"; empty for all rows
+     */
+    public static String getDataRowTags() {
+        return getProperty("data.row.tags", "");
+    }
+
+    /**
+     * Get directory that feature files with data file outlines are copied to, with the rows filled in
+     */
+    public static String getGeneratedFeaturesPath() {
+        return getProperty("generated.features.path", "target/generated-features");
+    }
+
+    private static List<String> getList(String key, String defaultValue) {
+        return Arrays.stream(getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
 }
@@ -0,0 +1,513 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.json.JsonType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the Cucumber JSON reports of all runners, threads and shards into one file without loading
+ * them into memory: features are streamed from each input straight to the output, and embedded
+ * attachments larger than report.attachment.inline.max.bytes are written to an attachments directory
+ * and replaced by a text/uri-list link. At most one attachment is held in memory at a time.
+ * A scenario that was retried (its next run carries the ScenarioContext.RETRY_ATTEMPT_ATTACHMENT) keeps
+ * only its last attempt in the merged report; the summary counts final and first-attempt statuses
+ * separately. Superseded attempts are found by a first pass over each report that skips attachments.
+ * Run by the verify phase before maven-cucumber-reporting, which reads the merged file.
+ */
+public class CucumberJsonMerger {
+    private static final Logger logger = LogManager.getLogger(CucumberJsonMerger.class);
+    private static final List<String> STATUS_SEVERITY =
+            List.of("passed", "skipped", "pending", "undefined", "ambiguous", "failed");
+
+    private final Json json = new Json();
+    private final Path attachmentDir;
+    private final String attachmentLinkPrefix;
+    private final long inlineMaxBytes;
+    private final Set<String> writtenAttachments = new HashSet<>();
+    private final Map<String, Long> scenarioStatuses = new TreeMap<>();
+    private final Map<String, Long> firstAttemptStatuses = new TreeMap<>();
+    private final Map<String, Long> stepStatuses = new TreeMap<>();
+    private long inputFiles;
+    private long inputBytes;
+    private long features;
+    private long durationNanos;
+    private long attachments;
+    private long attachmentBytes;
+    private long duplicateAttachments;
+    private long retriedScenarios;
+    private long supersededAttempts;
+    private Set<Integer> superseded = Set.of();
+    private int elementIndex;
+    private String elementType;
+    private String elementStatus;
+    private String backgroundStatus;
+
+    public CucumberJsonMerger(Path attachmentDir, String attachmentLinkPrefix, long inlineMaxBytes) {
+        this.attachmentDir = attachmentDir;
+        this.attachmentLinkPrefix = attachmentLinkPrefix;
+        this.inlineMaxBytes = inlineMaxBytes;
+    }
+
+    /**
+     * Merge the reports under report.path (or the first argument) into report.merged.file (or the second)
+     */
+    public static void main(String[] args) throws IOException {
+        Path inputDir = Paths.get(args.length > 0 ? args[0] : ConfigReader.getReportPath());
+        Path output = Paths.get(args.length > 1 ? args[1] : ConfigReader.getMergedReportFile());
+        CucumberJsonMerger merger = new CucumberJsonMerger(output.resolveSibling("attachments"),
+                ConfigReader.getReportAttachmentRelativePath(), ConfigReader.getReportAttachmentInlineMaxBytes());
+        Map<String, Object> summary = merger.merge(findReports(inputDir), output);
+        Files.write(output.resolveSibling("summary.json"), merger.json.toJson(summary).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get every Cucumber JSON report under a directory, in a stable order
+     */
+    public static List<Path> findReports(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.toString().endsWith(".json"))
+                    .filter(CucumberJsonMerger::isCucumberReport)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Check that a file holds a JSON array, as Cucumber reports do, without reading more than its start
+     */
+    private static boolean isCucumberReport(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (!Character.isWhitespace(c)) {
+                    return c == '[';
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stream all features of the inputs into one JSON array and return the run statistics.
+     * The output is replaced atomically, so a malformed input leaves no half-written report.
+     */
+    public Map<String, Object> merge(List<Path> inputs, Path output) throws IOException {
+        long start = System.nanoTime();
+        Path directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "cucumber", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+                 JsonOutput out = json.newOutput(writer)) {
+                out.setPrettyPrint(false);
+                out.beginArray();
+                for (Path input : inputs) {
+                    copyFeatures(input, out);
+                }
+                out.endArray();
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        Map<String, Object> summary = getSummary();
+        summary.put("outputBytes", Files.size(output));
+        summary.put("mergeMs", (System.nanoTime() - start) / 1_000_000);
+        logger.info("Merged {} report(s) into {}: {} features, scenarios {}, {} attachment(s) moved out ({} KB)",
+                inputFiles, output, features, scenarioStatuses, attachments, attachmentBytes / 1024);
+        return summary;
+    }
+
+    private void copyFeatures(Path input, JsonOutput out) throws IOException {
+        inputFiles++;
+        inputBytes += Files.size(input);
+        superseded = findSupersededAttempts(input);
+        elementIndex = 0;
+        backgroundStatus = null;
+        try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             JsonInput in = json.newInput(reader)) {
+            in.beginArray();
+            while (in.hasNext()) {
+                features++;
+                copyValue(in, out, null);
+            }
+            in.endArray();
+        } catch (JsonException e) {
+            throw new IOException("Malformed Cucumber JSON report " + input + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copy the next value; parentName is the key the value (or the array holding it) was found under
+     */
+    private void copyValue(JsonInput in, JsonOutput out, String parentName) throws IOException {
+        JsonType type = in.peek();
+        switch (type) {
+            case START_MAP:
+                copyObject(in, out, parentName);
+                break;
+            case START_COLLECTION:
+                in.beginArray();
+                out.beginArray();
+                while (in.hasNext()) {
+                    if ("elements".equals(parentName) && superseded.contains(elementIndex++)) {
+                        in.skipValue();
+                        continue;
+                    }
+                    copyValue(in, out, parentName);
+                }
+                in.endArray();
+                out.endArray();
+                break;
+            case STRING:
+                out.write(in.nextString());
+                break;
+            case NUMBER:
+                out.write(in.nextNumber());
+                break;
+            case BOOLEAN:
+                out.write(in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                out.write(null);
+                break;
+            default:
+                throw new JsonException("Unexpected " + type + " in Cucumber JSON");
+        }
+    }
+
+    private void copyObject(JsonInput in, JsonOutput out, String parentName) throws IOException {
+        boolean isElement = "elements".equals(parentName);
+        if (isElement) {
+            elementType = null;
+            elementStatus = "passed";
+        }
+        in.beginObject();
+        out.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            out.name(name);
+            if ("result".equals(name) && in.peek() == JsonType.START_MAP) {
+                Map<String, Object> result = in.read(Json.MAP_TYPE);
+                recordResult(result);
+                out.write(result);
+            } else if ("embeddings".equals(name) && in.peek() == JsonType.START_COLLECTION) {
+                copyEmbeddings(in, out);
+            } else if (isElement && "type".equals(name) && in.peek() == JsonType.STRING) {
+                elementType = in.nextString();
+                out.write(elementType);
+            } else {
+                copyValue(in, out, name);
+            }
+        }
+        in.endObject();
+        out.endObject();
+        // A Background is reported as an element of its own, right before the scenario it ran for;
+        // its status counts towards that scenario
+        if (isElement && "background".equals(elementType)) {
+            backgroundStatus = elementStatus;
+        } else if (isElement) {
+            scenarioStatuses.merge(worse(elementStatus, backgroundStatus), 1L, Long::sum);
+            backgroundStatus = null;
+        }
+    }
+
+    /**
+     * Get the indexes (in file order, over all features) of the elements that a later retry attempt of
+     * the same scenario supersedes, together with the Background reported just before each of them.
+     * Cucumber reports every attempt of a scenario next to each other in its feature, in run order.
+     */
+    private Set<Integer> findSupersededAttempts(Path input) throws IOException {
+        List<ElementSummary> elements = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             JsonInput in = json.newInput(reader)) {
+            in.beginArray();
+            int feature = 0;
+            while (in.hasNext()) {
+                feature++;
+                in.beginObject();
+                while (in.hasNext()) {
+                    if ("elements".equals(in.nextName()) && in.peek() == JsonType.START_COLLECTION) {
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            elements.add(scanElement(in, feature));
+                        }
+                        in.endArray();
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+            }
+            in.endArray();
+        } catch (JsonException e) {
+            throw new IOException("Malformed Cucumber JSON report " + input + ": " + e.getMessage(), e);
+        }
+
+        Set<Integer> supersededElements = new HashSet<>();
+        Map<String, Integer> lastAttempt = new HashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            ElementSummary element = elements.get(i);
+            if (element.background) {
+                continue;
+            }
+            if (i > 0 && elements.get(i - 1).background) {
+                element.status = worse(element.status, elements.get(i - 1).status);
+            }
+            Integer previous = lastAttempt.put(element.key, i);
+            if (previous == null || !element.retryAttempt) {
+                firstAttemptStatuses.merge(element.status, 1L, Long::sum);
+                continue;
+            }
+            if (!elements.get(previous).retryAttempt) {
+                retriedScenarios++;
+            }
+            supersededElements.add(previous);
+            supersededAttempts++;
+            if (previous > 0 && elements.get(previous - 1).background) {
+                supersededElements.add(previous - 1);
+            }
+        }
+        return supersededElements;
+    }
+
+    /**
+     * Read one element's key, status and retry marker, skipping everything else
+     */
+    private ElementSummary scanElement(JsonInput in, int feature) {
+        ElementSummary element = new ElementSummary();
+        String id = "";
+        Object line = "";
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("type".equals(name) && in.peek() == JsonType.STRING) {
+                element.background = "background".equals(in.nextString());
+            } else if ("id".equals(name) && in.peek() == JsonType.STRING) {
+                id = in.nextString();
+            } else if ("line".equals(name) && in.peek() == JsonType.NUMBER) {
+                line = in.nextNumber();
+            } else {
+                scanValue(in, element);
+            }
+        }
+        in.endObject();
+        element.key = feature + ":" + id + ":" + line;
+        return element;
+    }
+
+    /**
+     * Fold the step results found in a value into the element's status and look for the retry marker
+     */
+    private void scanValue(JsonInput in, ElementSummary element) {
+        JsonType type = in.peek();
+        if (type == JsonType.START_COLLECTION) {
+            in.beginArray();
+            while (in.hasNext()) {
+                scanValue(in, element);
+            }
+            in.endArray();
+        } else if (type == JsonType.START_MAP) {
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("result".equals(name) && in.peek() == JsonType.START_MAP) {
+                    Map<String, Object> result = in.read(Json.MAP_TYPE);
+                    Object status = result.get("status");
+                    if (severity(String.valueOf(status)) > severity(element.status)) {
+                        element.status = String.valueOf(status);
+                    }
+                } else if ("embeddings".equals(name) && in.peek() == JsonType.START_COLLECTION) {
+                    scanEmbeddings(in, element);
+                } else {
+                    scanValue(in, element);
+                }
+            }
+            in.endObject();
+        } else {
+            in.skipValue();
+        }
+    }
+
+    private void scanEmbeddings(JsonInput in, ElementSummary element) {
+        in.beginArray();
+        while (in.hasNext()) {
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("name".equals(in.nextName()) && in.peek() == JsonType.STRING) {
+                    element.retryAttempt |= ScenarioContext.RETRY_ATTEMPT_ATTACHMENT.equals(in.nextString());
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+        }
+        in.endArray();
+    }
+
+    private void recordResult(Map<String, Object> result) {
+        String status = String.valueOf(result.get("status"));
+        stepStatuses.merge(status, 1L, Long::sum);
+        if (result.get("duration") instanceof Number) {
+            durationNanos += ((Number) result.get("duration")).longValue();
+        }
+        if (elementStatus != null && severity(status) > severity(elementStatus)) {
+            elementStatus = status;
+        }
+    }
+
+    /**
+     * Get the more severe of two statuses; second may be null
+     */
+    private static String worse(String first, String second) {
+        return second != null && severity(second) > severity(first) ? second : first;
+    }
+
+    private static int severity(String status) {
+        int severity = STATUS_SEVERITY.indexOf(status);
+        return severity < 0 ? STATUS_SEVERITY.size() : severity;
+    }
+
+    private void copyEmbeddings(JsonInput in, JsonOutput out) throws IOException {
+        in.beginArray();
+        out.beginArray();
+        while (in.hasNext()) {
+            Map<String, Object> embedding = in.read(Json.MAP_TYPE);
+            out.write(moveOut(embedding));
+        }
+        in.endArray();
+        out.endArray();
+    }
+
+    /**
+     * Write a large embedding to the attachments directory and return a link to it in its place.
+     * Identical attachments share one file.
+     */
+    private Map<String, Object> moveOut(Map<String, Object> embedding) throws IOException {
+        Object data = embedding.get("data");
+        if (!(data instanceof String) || ((String) data).length() / 4 * 3 <= inlineMaxBytes) {
+            return embedding;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode((String) data);
+        } catch (IllegalArgumentException e) {
+            return embedding;
+        }
+        String fileName = hash(bytes) + getExtension(String.valueOf(embedding.get("mime_type")));
+        attachments++;
+        if (writtenAttachments.add(fileName)) {
+            Files.createDirectories(attachmentDir);
+            Path temp = Files.createTempFile(attachmentDir, "attachment", ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, attachmentDir.resolve(fileName),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            attachmentBytes += bytes.length;
+        } else {
+            duplicateAttachments++;
+        }
+        Map<String, Object> link = new LinkedHashMap<>(embedding);
+        link.put("mime_type", "text/uri-list");
+        link.put("data", Base64.getEncoder().encodeToString(
+                (attachmentLinkPrefix + fileName).getBytes(StandardCharsets.UTF_8)));
+        return link;
+    }
+
+    private static String getExtension(String mimeType) {
+        switch (mimeType) {
+            case "image/png":
+                return ".png";
+            case "image/jpeg":
+                return ".jpg";
+            case "text/plain":
+                return ".txt";
+            case "text/html":
+                return ".html";
+            case "application/json":
+                return ".json";
+            case "video/webm":
+                return ".webm";
+            default:
+                return ".bin";
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * What the first pass keeps of a report element: scenarios are keyed by feature, id and line
+     */
+    private static final class ElementSummary {
+        private String key;
+        private String status = "passed";
+        private boolean background;
+        private boolean retryAttempt;
+    }
+
+    /**
+     * Get the statistics gathered so far
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("inputFiles", inputFiles);
+        summary.put("inputBytes", inputBytes);
+        summary.put("features", features);
+        summary.put("scenarios", scenarioStatuses.values().stream().mapToLong(Long::longValue).sum());
+        summary.put("scenarioStatuses", new TreeMap<>(scenarioStatuses));
+        summary.put("firstAttemptStatuses", new TreeMap<>(firstAttemptStatuses));
+        summary.put("retriedScenarios", retriedScenarios);
+        summary.put("supersededAttempts", supersededAttempts);
+        summary.put("stepStatuses", new TreeMap<>(stepStatuses));
+        summary.put("durationMs", durationNanos / 1_000_000);
+        summary.put("attachmentsMovedOut", attachments);
+        summary.put("attachmentFilesWritten", writtenAttachments.size());
+        summary.put("duplicateAttachments", duplicateAttachments);
+        summary.put("attachmentBytes", attachmentBytes);
+        return summary;
+    }
+}
@@ -0,0 +1,153 @@
+package com.automation.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads tabular test data from .csv, .json and .xlsx files one row at a time, so a file with
+ * thousands of rows is never held in memory. Every row is passed on as a column name to value map:
+ * CSV files have a header line, JSON files hold an array of flat objects and Excel sheets are read
+ * with ExcelRowReader.
+ */
+public class DataFileReader {
+
+    /**
+     * Pass every row of a data file to rowHandler, in file order; sheetName only applies to .xlsx
+     * files, where null means the first sheet
+     */
+    public static void read(Path file, String sheetName, Consumer<Map<String, String>> rowHandler) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            ExcelRowReader.read(file, sheetName, rowHandler);
+        } else if (name.endsWith(".csv")) {
+            readCsv(file, rowHandler);
+        } else if (name.endsWith(".json")) {
+            readJson(file, rowHandler);
+        } else {
+            throw new IllegalArgumentException("Unsupported data file " + file + ", expected .csv, .json or .xlsx");
+        }
+    }
+
+    private static void readCsv(Path file, Consumer<Map<String, String>> rowHandler) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> header = readCsvRecord(reader);
+            if (header == null) {
+                return;
+            }
+            // Spreadsheet tools often save CSV with a byte order mark
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+            List<String> record;
+            while ((record = readCsvRecord(reader)) != null) {
+                if (record.stream().allMatch(String::isEmpty)) {
+                    continue;
+                }
+                Map<String, String> row = new LinkedHashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    row.put(header.get(i).trim(), i < record.size() ? record.get(i).trim() : "");
+                }
+                rowHandler.accept(row);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read data file " + file, e);
+        }
+    }
+
+    /**
+     * Read one RFC 4180 record: fields separated by commas, optionally quoted, with "" for a quote
+     * and line breaks allowed inside quotes. Returns null at the end of the file.
+     */
+    private static List<String> readCsvRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void readJson(Path file, Consumer<Map<String, String>> rowHandler) {
+        Json json = new Json();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonInput in = json.newInput(reader)) {
+            in.beginArray();
+            while (in.hasNext()) {
+                Map<String, String> row = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    String column = in.nextName();
+                    row.put(column, readJsonValue(in, json));
+                }
+                in.endObject();
+                rowHandler.accept(row);
+            }
+            in.endArray();
+        } catch (IOException | JsonException e) {
+            throw new IllegalStateException("Failed to read data file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get a JSON value as cell text; nested arrays and objects are kept as JSON
+     */
+    private static String readJsonValue(JsonInput in, Json json) {
+        JsonType type = in.peek();
+        switch (type) {
+            case STRING:
+                return in.nextString();
+            case NUMBER:
+                return String.valueOf(in.nextNumber());
+            case BOOLEAN:
+                return String.valueOf(in.nextBoolean());
+            case NULL:
+                in.nextNull();
+                return "";
+            default:
+                return json.toJson(in.read(Object.class));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.automation.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves each browser's driver binary once per JVM and remembers it in a local cache file,
+ * so later runs (including offline ones) skip WebDriverManager's version detection.
+ * A cached driver that no longer matches the installed browser is evicted when it fails to start a
+ * session (see evict), so a browser upgrade does not need the cache file to be deleted by hand.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final Map<String, ResolvedDriver> resolvedDrivers = new ConcurrentHashMap<>();
+    private static final AtomicLong lookups = new AtomicLong();
+
+    static {
+        ShutdownHooks.register("driver-resolver-statistics", DriverBinaryResolver::logStatistics);
+    }
+
+    /**
+     * Resolve the driver binary for a browser; concurrent callers wait for a single resolution
+     */
+    public static ResolvedDriver resolve(String browser) {
+        lookups.incrementAndGet();
+        return resolvedDrivers.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+    }
+
+    /**
+     * Drop a cached driver that failed to start a session, so the next resolve asks WebDriverManager
+     * again; returns false when the driver did not come from the cache or driver.offline is set
+     */
+    public static boolean evict(ResolvedDriver failed) {
+        if (!"cache".equals(failed.getSource()) || ConfigReader.isDriverOffline()) {
+            return false;
+        }
+        if (resolvedDrivers.remove(failed.getBrowser(), failed)) {
+            logger.warn("Cached {} driver {} failed to start a session, resolving it again",
+                    failed.getBrowser(), failed.getPath());
+            removeFromCache(failed);
+        }
+        return true;
+    }
+
+    private static ResolvedDriver resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String systemProperty = getSystemPropertyName(browser);
+        Properties cache = loadCache();
+        String cachedPath = cache.getProperty(browser + ".path");
+        String cachedVersion = cache.getProperty(browser + ".version", "unknown");
+
+        ResolvedDriver resolved;
+        if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))) {
+            resolved = new ResolvedDriver(browser, cachedPath, cachedVersion, "cache", System.nanoTime() - start);
+        } else if (ConfigReader.isDriverOffline()) {
+            throw new RuntimeException("No cached " + browser + " driver in " + getCacheFile()
+                    + " and driver.offline=true");
+        } else {
+            WebDriverManager manager = getWebDriverManager(browser);
+            manager.setup();
+            resolved = new ResolvedDriver(browser, manager.getDownloadedDriverPath(),
+                    manager.getDownloadedDriverVersion(), "webdrivermanager", System.nanoTime() - start);
+            storeInCache(resolved);
+        }
+
+        System.setProperty(systemProperty, resolved.getPath());
+        logger.info("Resolved {} driver {} from {} in {} ms: {}", browser, resolved.getVersion(),
+                resolved.getSource(), resolved.getResolutionNanos() / 1_000_000, resolved.getPath());
+        return resolved;
+    }
+
+    private static WebDriverManager getWebDriverManager(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static String getSystemPropertyName(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static Path getCacheFile() {
+        return Paths.get(ConfigReader.getDriverCacheFile());
+    }
+
+    private static synchronized Properties loadCache() {
+        Properties cache = new Properties();
+        Path cacheFile = getCacheFile();
+        if (Files.exists(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Merge the resolved driver into the cache file, replacing it atomically
+     */
+    private static synchronized void storeInCache(ResolvedDriver resolved) {
+        Properties cache = loadCache();
+        cache.setProperty(resolved.getBrowser() + ".path", resolved.getPath());
+        cache.setProperty(resolved.getBrowser() + ".version", resolved.getVersion());
+        writeCache(cache);
+    }
+
+    /**
+     * Remove a driver from the cache file, unless another run has already replaced it
+     */
+    private static synchronized void removeFromCache(ResolvedDriver resolved) {
+        Properties cache = loadCache();
+        if (resolved.getPath().equals(cache.getProperty(resolved.getBrowser() + ".path"))) {
+            cache.remove(resolved.getBrowser() + ".path");
+            cache.remove(resolved.getBrowser() + ".version");
+            writeCache(cache);
+        }
+    }
+
+    private static void writeCache(Properties cache) {
+        Path cacheFile = getCacheFile();
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "drivers", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cache.store(out, "Resolved driver binaries");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write driver cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Log how often drivers were looked up versus actually resolved
+     */
+    public static void logStatistics() {
+        long totalNanos = resolvedDrivers.values().stream().mapToLong(ResolvedDriver::getResolutionNanos).sum();
+        logger.info("Driver resolver: lookups={}, resolutions={}, total resolution time={} ms",
+                lookups.get(), resolvedDrivers.size(), totalNanos / 1_000_000);
+    }
+
+    /**
+     * Driver binary resolved for a browser
+     */
+    public static final class ResolvedDriver {
+        private final String browser;
+        private final String path;
+        private final String version;
+        private final String source;
+        private final long resolutionNanos;
+
+        ResolvedDriver(String browser, String path, String version, String source, long resolutionNanos) {
+            this.browser = browser;
+            this.path = path;
+            this.version = version == null ? "unknown" : version;
+            this.source = source;
+            this.resolutionNanos = resolutionNanos;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Get where the driver came from: "cache" or "webdrivermanager"
+         */
+        public String getSource() {
+            return source;
+        }
+
+        public long getResolutionNanos() {
+            return resolutionNanos;
+        }
+    }
+}
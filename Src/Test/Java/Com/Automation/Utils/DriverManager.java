@@ -1,6 +1,6 @@
 package com.automation.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -8,65 +8,152 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
- * Manager class for WebDriver initialization and configuration
+ * Manager class for WebDriver initialization and configuration.
+ * Each scenario thread owns its driver; a driver is never leased to two threads at once.
+ * With driver.prefetch.enabled new browsers come from a PrefetchingDriverSupplier that launches them
+ * in the background.
  */
 public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<Long> lastInitializationNanos = ThreadLocal.withInitial(() -> 0L);
+    private static final ThreadLocal<Boolean> freshDriverRequested = ThreadLocal.withInitial(() -> false);
+    private static final Set<WebDriver> leasedDrivers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Map<WebDriver, TrafficInterceptor> interceptors = new ConcurrentHashMap<>();
+    private static final DriverPool pool =
+            new DriverPool(ConfigReader.getDriverPoolMaxReuse(), DriverManager::closeInterceptor);
+    private static final PrefetchingDriverSupplier prefetcher = ConfigReader.isDriverPrefetchEnabled()
+            ? new PrefetchingDriverSupplier(DriverManager::createDriver, DriverManager::disposeDriver,
+                    ConfigReader.getDriverPrefetchCount(), ConfigReader.getDriverPrefetchThreads(),
+                    ConfigReader.getDriverPrefetchMaxFailures())
+            : null;
+
+    static {
+        if (ConfigReader.isDriverPoolEnabled()) {
+            ShutdownHooks.register("driver-pool-shutdown", pool::shutdown);
+        }
+        if (prefetcher != null) {
+            ShutdownHooks.register("driver-prefetch-shutdown", prefetcher::shutdown);
+        }
+    }
+
+    /**
+     * Start launching prefetched browsers, so the first scenarios find them starting or ready;
+     * does nothing unless driver.prefetch.enabled is set
+     */
+    public static void startPrefetching() {
+        if (prefetcher != null) {
+            prefetcher.start();
+        }
+    }
 
     /**
      * Initialize WebDriver based on browser configuration
      */
     public static void initializeDriver() {
+        long start = System.nanoTime();
+        try {
+            createOrReuseDriver();
+        } finally {
+            lastInitializationNanos.set(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Get and reset the time the current thread last spent in initializeDriver
+     */
+    public static long takeLastInitializationNanos() {
+        long nanos = lastInitializationNanos.get();
+        lastInitializationNanos.set(0L);
+        return nanos;
+    }
+
+    /**
+     * Make the current thread's next initializeDriver launch a new browser instead of reusing a pooled one
+     */
+    public static void requestFreshDriver() {
+        freshDriverRequested.set(true);
+    }
+
+    private static void createOrReuseDriver() {
+        boolean fresh = freshDriverRequested.get();
+        freshDriverRequested.remove();
+        if (ConfigReader.isDriverPoolEnabled() && !fresh) {
+            WebDriver pooledDriver = pool.checkout();
+            if (pooledDriver != null) {
+                lease(pooledDriver);
+                logger.info("Reusing pooled driver");
+                return;
+            }
+        }
+
+        // A prefetched browser has never been used, so it also serves fresh driver requests
+        WebDriver webDriver = prefetcher != null ? prefetcher.get() : createDriver();
+        if (ConfigReader.isDriverPoolEnabled()) {
+            pool.register(webDriver);
+        }
+        lease(webDriver);
+    }
+
+    /**
+     * Create and configure a new WebDriver based on browser configuration
+     */
+    private static WebDriver createDriver() {
         String browser = ConfigReader.getBrowser().toLowerCase();
         boolean headless = ConfigReader.isHeadless();
 
-        logger.info("Initializing {} driver in {} mode", browser, headless ? "headless" : "normal");
+        logger.info("Initializing {} driver in {} mode with {} profile", browser,
+                headless ? "headless" : "normal", ConfigReader.getBrowserProfile());
 
         try {
+            WebDriver webDriver;
             switch (browser) {
                 case "chrome":
-                    WebDriverManager.chromedriver().setup();
                     ChromeOptions chromeOptions = new ChromeOptions();
-                    if (headless) {
-                        chromeOptions.addArguments("--headless");
-                    }
-                    chromeOptions.addArguments("--start-maximized");
+                    BrowserProfile.apply(chromeOptions, headless);
                     chromeOptions.addArguments("--disable-notifications");
                     chromeOptions.addArguments("--disable-popup-blocking");
-                    driver.set(new ChromeDriver(chromeOptions));
+                    webDriver = startBrowser("chrome", () -> new ChromeDriver(chromeOptions));
                     break;
 
                 case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    if (headless) {
-                        firefoxOptions.addArguments("--headless");
-                    }
-                    driver.set(new FirefoxDriver(firefoxOptions));
+                    BrowserProfile.apply(firefoxOptions, headless);
+                    webDriver = startBrowser("firefox", () -> new FirefoxDriver(firefoxOptions));
                     break;
 
                 case "edge":
-                    WebDriverManager.edgedriver().setup();
                     EdgeOptions edgeOptions = new EdgeOptions();
-                    if (headless) {
-                        edgeOptions.addArguments("--headless");
-                    }
-                    driver.set(new EdgeDriver(edgeOptions));
+                    BrowserProfile.apply(edgeOptions, headless);
+                    webDriver = startBrowser("edge", () -> new EdgeDriver(edgeOptions));
                     break;
 
                 default:
                     throw new IllegalArgumentException("Browser not supported: " + browser);
             }
 
-            configureDriver();
+            configureDriver(webDriver);
+            TrafficInterceptor interceptor = TrafficInterceptor.attach(webDriver);
+            if (ConfigReader.isCommandMetricsEnabled()) {
+                webDriver = new EventFiringDecorator<>(CommandMetrics.getListener()).decorate(webDriver);
+            }
+            if (interceptor != null) {
+                interceptors.put(webDriver, interceptor);
+            }
             logger.info("Driver initialized successfully");
+            return webDriver;
 
         } catch (Exception e) {
             logger.error("Failed to initialize driver", e);
@@ -75,15 +162,64 @@ public class DriverManager {
     }
 
     /**
-     * Configure driver timeouts and window settings
+     * Start a browser with its resolved driver binary; when a cached driver cannot start a session
+     * (e.g. after a browser upgrade), resolve it again once and retry
      */
-    private static void configureDriver() {
-        WebDriver webDriver = driver.get();
-        webDriver.manage().timeouts().implicitlyWait(
-                Duration.ofSeconds(ConfigReader.getImplicitWait()));
+    private static WebDriver startBrowser(String browser, Supplier<WebDriver> launcher) {
+        DriverBinaryResolver.ResolvedDriver resolved = DriverBinaryResolver.resolve(browser);
+        try {
+            return launcher.get();
+        } catch (SessionNotCreatedException e) {
+            if (!DriverBinaryResolver.evict(resolved)) {
+                throw e;
+            }
+            DriverBinaryResolver.resolve(browser);
+            return launcher.get();
+        }
+    }
+
+    /**
+     * Bind a driver to the current thread, failing if another thread already holds it
+     */
+    private static void lease(WebDriver webDriver) {
+        if (!leasedDrivers.add(webDriver)) {
+            throw new IllegalStateException("Driver is already leased to another scenario");
+        }
+        driver.set(webDriver);
+    }
+
+    /**
+     * Release the current thread's driver lease
+     */
+    private static void releaseLease() {
+        leasedDrivers.remove(driver.get());
+        driver.remove();
+    }
+
+    /**
+     * Bind an externally created driver (e.g. an in-memory fake for benchmarks) to the current thread
+     */
+    public static void setDriver(WebDriver webDriver) {
+        lease(webDriver);
+    }
+
+    /**
+     * Get number of drivers currently leased to scenario threads
+     */
+    public static int getLeasedDriverCount() {
+        return leasedDrivers.size();
+    }
+
+    /**
+     * Configure driver timeouts and window settings.
+     * No implicit wait is set; page objects wait explicitly through WaitEngine.
+     */
+    private static void configureDriver(WebDriver webDriver) {
         webDriver.manage().timeouts().pageLoadTimeout(
                 Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
-        webDriver.manage().window().maximize();
+        if (BrowserProfile.shouldMaximize()) {
+            webDriver.manage().window().maximize();
+        }
     }
 
     /**
@@ -94,16 +230,66 @@ public class DriverManager {
     }
 
     /**
-     * Quit and clean up driver
+     * Get the network interceptor of the current thread's driver, or null when traffic is not intercepted
+     */
+    public static TrafficInterceptor getTrafficInterceptor() {
+        WebDriver webDriver = driver.get();
+        return webDriver == null ? null : interceptors.get(webDriver);
+    }
+
+    private static void closeInterceptor(WebDriver webDriver) {
+        TrafficInterceptor interceptor = interceptors.remove(webDriver);
+        if (interceptor != null) {
+            interceptor.close();
+        }
+    }
+
+    /**
+     * Quit a driver that was never leased, e.g. a prefetched browser left over at the end of the run
+     */
+    private static void disposeDriver(WebDriver webDriver) {
+        closeInterceptor(webDriver);
+        webDriver.quit();
+    }
+
+    /**
+     * Get the driver pool used when driver.pool.enabled is set
+     */
+    public static DriverPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Quit and clean up driver, or hand it back to the pool in pooled mode
      */
     public static void quitDriver() {
+        quitDriver(false);
+    }
+
+    /**
+     * Quit and clean up driver; in pooled mode it goes back to the pool unless discard is set
+     */
+    public static void quitDriver(boolean discard) {
+        if (driver.get() != null && ConfigReader.isDriverPoolEnabled()) {
+            WebDriver webDriver = driver.get();
+            releaseLease();
+            if (discard) {
+                pool.evict(webDriver, "scenario failed");
+            } else {
+                logger.info("Returning driver to pool");
+                pool.release(webDriver);
+            }
+            return;
+        }
         if (driver.get() != null) {
             try {
                 logger.info("Quitting driver");
+                closeInterceptor(driver.get());
                 driver.get().quit();
-                driver.remove();
             } catch (Exception e) {
                 logger.error("Error while quitting driver", e);
+            } finally {
+                releaseLease();
             }
         }
     }
@@ -0,0 +1,189 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pool of live WebDriver sessions that are reset and reused between scenarios
+ */
+public class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "window.name = '';"
+            + "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final int maxReuse;
+    private final Consumer<WebDriver> beforeQuit;
+    private final Deque<WebDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+
+    public DriverPool(int maxReuse) {
+        this(maxReuse, webDriver -> { });
+    }
+
+    /**
+     * Create a pool that calls beforeQuit for every driver it quits
+     */
+    public DriverPool(int maxReuse, Consumer<WebDriver> beforeQuit) {
+        this.maxReuse = maxReuse;
+        this.beforeQuit = beforeQuit;
+    }
+
+    /**
+     * Check out a healthy idle driver, or return null when a new one has to be created
+     */
+    public WebDriver checkout() {
+        WebDriver webDriver;
+        while ((webDriver = idleDrivers.pollFirst()) != null) {
+            if (isHealthy(webDriver)) {
+                hits.incrementAndGet();
+                useCounts.merge(webDriver, 1, Integer::sum);
+                return webDriver;
+            }
+            discard(webDriver, "unhealthy session");
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Register a newly created driver so its reuse count is tracked
+     */
+    public void register(WebDriver webDriver) {
+        useCounts.put(webDriver, 1);
+    }
+
+    /**
+     * Return a driver to the pool, resetting its state or discarding it
+     */
+    public void release(WebDriver webDriver) {
+        int uses = useCounts.getOrDefault(webDriver, maxReuse);
+        if (uses >= maxReuse) {
+            discard(webDriver, "max reuse count reached (" + uses + ")");
+            return;
+        }
+        if (!reset(webDriver)) {
+            discard(webDriver, "reset failed");
+            return;
+        }
+        idleDrivers.offerFirst(webDriver);
+    }
+
+    /**
+     * Quit a checked-out driver instead of returning it to the pool
+     */
+    public void evict(WebDriver webDriver, String reason) {
+        discard(webDriver, reason);
+    }
+
+    /**
+     * Quit every idle driver and log the pool statistics
+     */
+    public void shutdown() {
+        WebDriver webDriver;
+        while ((webDriver = idleDrivers.pollFirst()) != null) {
+            quit(webDriver);
+        }
+        logStatistics();
+    }
+
+    /**
+     * Reset cookies, web storage and extra tabs, then park the session on about:blank
+     */
+    private boolean reset(WebDriver webDriver) {
+        long start = System.nanoTime();
+        try {
+            Set<String> handles = webDriver.getWindowHandles();
+            Iterator<String> iterator = handles.iterator();
+            String keep = iterator.next();
+            while (iterator.hasNext()) {
+                webDriver.switchTo().window(iterator.next()).close();
+            }
+            webDriver.switchTo().window(keep);
+            ((JavascriptExecutor) webDriver).executeScript(CLEAR_STORAGE_SCRIPT);
+            webDriver.manage().deleteAllCookies();
+            webDriver.get("about:blank");
+            resets.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled driver: {}", e.getMessage());
+            return false;
+        } finally {
+            resetNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Check that the browser session still responds
+     */
+    private boolean isHealthy(WebDriver webDriver) {
+        try {
+            return !webDriver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void discard(WebDriver webDriver, String reason) {
+        logger.info("Discarding pooled driver: {}", reason);
+        discarded.incrementAndGet();
+        quit(webDriver);
+    }
+
+    private void quit(WebDriver webDriver) {
+        useCounts.remove(webDriver);
+        try {
+            beforeQuit.accept(webDriver);
+            webDriver.quit();
+        } catch (Exception e) {
+            logger.error("Error while quitting pooled driver", e);
+        }
+    }
+
+    /**
+     * Log pool hit/miss and reset-time counters
+     */
+    public void logStatistics() {
+        long resetCount = resets.get();
+        logger.info("Driver pool: hits={}, misses={}, discarded={}, resets={}, avg reset={} ms",
+                hits.get(), misses.get(), discarded.get(), resetCount,
+                resetCount == 0 ? 0 : resetNanos.get() / resetCount / 1_000_000);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    public long getResets() {
+        return resets.get();
+    }
+
+    public long getResetNanos() {
+        return resetNanos.get();
+    }
+}
@@ -0,0 +1,103 @@
+package com.automation.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads .xlsx sheets row by row through POI's SAX event API, so memory use does not depend on the
+ * number of rows. The first row holds the column names; each following row is passed on as a
+ * column name to formatted value map (empty cells map to "").
+ */
+public class ExcelRowReader {
+
+    /**
+     * Pass every data row of a sheet to rowHandler, in sheet order; a null sheetName reads the first sheet
+     */
+    public static void read(Path file, String sheetName, Consumer<Map<String, String>> rowHandler) {
+        try (OPCPackage workbook = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(workbook);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(workbook);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheetName != null && !sheetName.equalsIgnoreCase(sheets.getSheetName())) {
+                        continue;
+                    }
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings,
+                            new RowHandler(rowHandler), new DataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in " + file);
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to read sheet '" + sheetName + "' of " + file, e);
+        }
+    }
+
+    /**
+     * Turns cell events into rows keyed by the header row
+     */
+    private static final class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<Map<String, String>> rowHandler;
+        private List<String> header;
+        private List<String> cells = new ArrayList<>();
+
+        private RowHandler(Consumer<Map<String, String>> rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue.trim());
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (header == null) {
+                header = Collections.unmodifiableList(cells);
+                return;
+            }
+            if (cells.stream().allMatch(String::isEmpty)) {
+                return;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < cells.size() ? cells.get(i) : "");
+            }
+            rowHandler.accept(row);
+        }
+    }
+}
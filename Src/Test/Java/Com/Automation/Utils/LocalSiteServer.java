@@ -0,0 +1,294 @@
+package com.automation.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP stand-in for the application under test.
+ * Serves login, inventory and cart pages with the ids and classes used by the page objects,
+ * plus a tracker script standing in for the real site's third-party analytics.
+ */
+public class LocalSiteServer {
+    private static final Logger logger = LogManager.getLogger(LocalSiteServer.class);
+    private static final String RESOURCE_ROOT = "/site/";
+    private static final String TRACKER_SCRIPT = "window.trackerLoaded = true;";
+    private static LocalSiteServer shared;
+
+    private final List<Product> catalogue;
+    private final String loginPage;
+    private final String inventoryPage;
+    private final String cartPage;
+    private final String script;
+    private final String stylesheet;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public LocalSiteServer() {
+        this(defaultCatalogue());
+    }
+
+    public LocalSiteServer(List<Product> catalogue) {
+        this.catalogue = Collections.unmodifiableList(new ArrayList<>(catalogue));
+        this.loginPage = readResource("login.html");
+        this.inventoryPage = readResource("inventory.html").replace("{{inventory}}", renderInventory());
+        this.cartPage = readResource("cart.html").replace("{{catalogue}}", renderCatalogueJson());
+        this.script = readResource("site.js");
+        this.stylesheet = readResource("site.css");
+    }
+
+    /**
+     * Get the site used in local mode, starting it with local.catalogue.size products on first use
+     */
+    public static synchronized LocalSiteServer getShared() {
+        if (shared == null) {
+            LocalSiteServer site = new LocalSiteServer(generatedCatalogue(ConfigReader.getLocalCatalogueSize()));
+            site.start(ConfigReader.getLocalSitePort());
+            shared = site;
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the site used in local mode, if it was started
+     */
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+        }
+    }
+
+    /**
+     * Start the server on the given port (0 picks a free port) and return its base URL
+     */
+    public synchronized String start(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start local site server: " + e.getMessage());
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-site");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Local site started at {} with {} products", getBaseUrl(), catalogue.size());
+        return getBaseUrl();
+    }
+
+    /**
+     * Stop the server
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Local site stopped");
+        }
+    }
+
+    /**
+     * Get base URL of the running server
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Get the products served by this site
+     */
+    public List<Product> getCatalogue() {
+        return catalogue;
+    }
+
+    /**
+     * Get how many requests the server has received for a path
+     */
+    public int getRequestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        switch (path) {
+            case "/":
+            case "/index.html":
+                respond(exchange, 200, "text/html", loginPage, false);
+                break;
+            case "/inventory.html":
+                respond(exchange, 200, "text/html", inventoryPage, false);
+                break;
+            case "/cart.html":
+                respond(exchange, 200, "text/html", cartPage, false);
+                break;
+            case "/static/site.js":
+                respond(exchange, 200, "application/javascript", script, true);
+                break;
+            case "/static/site.css":
+                respond(exchange, 200, "text/css", stylesheet, true);
+                break;
+            case "/analytics/track.js":
+                respond(exchange, 200, "application/javascript", TRACKER_SCRIPT, false);
+                break;
+            default:
+                respond(exchange, 404, "text/plain", "Not found: " + path, false);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body,
+                         boolean cacheable) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", cacheable ? "max-age=3600" : "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String renderInventory() {
+        StringBuilder html = new StringBuilder();
+        for (Product product : catalogue) {
+            html.append("<div class=\"inventory_item\" data-id=\"").append(product.getId()).append("\">")
+                    .append("<div class=\"inventory_item_description\"><div class=\"inventory_item_label\">")
+                    .append("<a href=\"#\" id=\"item_").append(product.getId()).append("_title_link\">")
+                    .append("<div class=\"inventory_item_name\">").append(escape(product.getName()))
+                    .append("</div></a>")
+                    .append("<div class=\"inventory_item_desc\">").append(escape(product.getDescription()))
+                    .append("</div></div>")
+                    .append("<div class=\"pricebar\"><div class=\"inventory_item_price\">$")
+                    .append(product.getPriceText()).append("</div>")
+                    .append("<button class=\"btn btn_primary btn_small btn_inventory\" id=\"add-to-cart-")
+                    .append(product.getSlug()).append("\" data-id=\"").append(product.getId())
+                    .append("\" data-slug=\"").append(product.getSlug()).append("\">Add to cart</button>")
+                    .append("</div></div></div>\n");
+        }
+        return html.toString();
+    }
+
+    private String renderCatalogueJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < catalogue.size(); i++) {
+            Product product = catalogue.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(product.getId())
+                    .append(",\"name\":\"").append(escapeJson(product.getName()))
+                    .append("\",\"slug\":\"").append(escapeJson(product.getSlug()))
+                    .append("\",\"price\":\"").append(product.getPriceText()).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String readResource(String name) {
+        try (InputStream in = LocalSiteServer.class.getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (in == null) {
+                throw new RuntimeException("Local site resource not found: " + RESOURCE_ROOT + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read local site resource: " + name);
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String escapeJson(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("</", "<\\/");
+    }
+
+    /**
+     * Products offered by the real application
+     */
+    public static List<Product> defaultCatalogue() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(4, "Sauce Labs Backpack", 29.99));
+        products.add(new Product(0, "Sauce Labs Bike Light", 9.99));
+        products.add(new Product(1, "Sauce Labs Bolt T-Shirt", 15.99));
+        products.add(new Product(5, "Sauce Labs Fleece Jacket", 49.99));
+        products.add(new Product(2, "Sauce Labs Onesie", 7.99));
+        products.add(new Product(3, "Test.allTheThings() T-Shirt (Red)", 15.99));
+        return products;
+    }
+
+    /**
+     * The real products followed by generated ones, up to the requested size
+     */
+    public static List<Product> generatedCatalogue(int size) {
+        List<Product> products = defaultCatalogue();
+        for (int id = products.size(); products.size() < size; id++) {
+            products.add(new Product(id, String.format("Test Product %05d", id), 5 + (id * 7919 % 9500) / 100.0));
+        }
+        return products.subList(0, Math.min(size, products.size()));
+    }
+
+    /**
+     * Product served by the local site
+     */
+    public static final class Product {
+        private final int id;
+        private final String name;
+        private final double price;
+
+        public Product(int id, String name, double price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public String getPriceText() {
+            return String.format(Locale.ROOT, "%.2f", price);
+        }
+
+        public String getDescription() {
+            return "Description of " + name;
+        }
+
+        /**
+         * Get the name as used in button ids, e.g. sauce-labs-backpack
+         */
+        public String getSlug() {
+            return name.toLowerCase(Locale.ROOT).replace(' ', '-');
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Launches browsers ahead of time so a scenario gets a live session instead of waiting for one.
+ * Up to driver.prefetch.count browsers are kept starting or ready on a small background executor,
+ * from start() on; every browser handed out is replaced right away, so the next one starts while the
+ * current scenario runs. A launch still queued behind busy prefetch threads is claimed by the scenario
+ * and run on its own thread instead of waiting. A browser that failed to start or no longer responds is
+ * replaced by one launched on the scenario thread, and prefetching stops after
+ * driver.prefetch.max.failures startup failures in a row.
+ * Browsers still waiting at JVM exit are quit and the hidden startup time is written to
+ * driver.prefetch.stats.file.
+ */
+public class PrefetchingDriverSupplier {
+    private static final Logger logger = LogManager.getLogger(PrefetchingDriverSupplier.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> disposer;
+    private final int capacity;
+    private final int maxFailures;
+    private final ExecutorService executor;
+    private final Deque<PendingLaunch> prefetched = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean enabled = true;
+    private volatile boolean closed;
+
+    private final AtomicLong ready = new AtomicLong();
+    private final AtomicLong waitedFor = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notStarted = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong unhealthy = new AtomicLong();
+    private final AtomicLong unused = new AtomicLong();
+    private final AtomicLong startupNanos = new AtomicLong();
+    private final AtomicLong hiddenNanos = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong missNanos = new AtomicLong();
+
+    /**
+     * Create a supplier that launches browsers with factory on threads threads and quits unused ones
+     * with disposer
+     */
+    public PrefetchingDriverSupplier(Supplier<WebDriver> factory, Consumer<WebDriver> disposer,
+                                     int capacity, int threads, int maxFailures) {
+        if (capacity < 1 || threads < 1) {
+            throw new IllegalArgumentException(
+                    "driver.prefetch.count and driver.prefetch.threads must be at least 1");
+        }
+        this.factory = factory;
+        this.disposer = disposer;
+        this.capacity = capacity;
+        this.maxFailures = maxFailures;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "driver-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Start launching the first browsers, before any scenario asks for one
+     */
+    public void start() {
+        refill();
+    }
+
+    /**
+     * Get a live browser, prefetched when one is available, and start launching its replacement
+     */
+    public WebDriver get() {
+        refill();
+        PendingLaunch next = prefetched.pollFirst();
+        refill();
+        if (next != null) {
+            if (next.claim()) {
+                // No prefetch thread has picked it up yet, so launching here is quicker than waiting
+                next.future.cancel(false);
+                notStarted.incrementAndGet();
+            } else {
+                WebDriver webDriver = take(next);
+                if (webDriver != null) {
+                    return webDriver;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return factory.get();
+        } finally {
+            missNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Wait for a prefetched browser; returns null when it failed to start or no longer responds
+     */
+    private WebDriver take(PendingLaunch next) {
+        long start = System.nanoTime();
+        boolean wasReady = next.future.isDone();
+        Prefetched browser;
+        try {
+            browser = next.future.get();
+        } catch (ExecutionException e) {
+            recordFailure(e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Keep it for the next scenario or for shutdown, so a browser that does start is not leaked
+            prefetched.offerFirst(next);
+            return null;
+        }
+        long waited = System.nanoTime() - start;
+        if (browser == null) {
+            return null;
+        }
+        if (!isHealthy(browser.webDriver)) {
+            unhealthy.incrementAndGet();
+            logger.warn("Prefetched browser no longer responds, launching a new one");
+            dispose(browser.webDriver);
+            return null;
+        }
+        if (wasReady) {
+            ready.incrementAndGet();
+        } else {
+            waitedFor.incrementAndGet();
+        }
+        waitNanos.addAndGet(waited);
+        hiddenNanos.addAndGet(Math.max(0, browser.startupNanos - waited));
+        return browser.webDriver;
+    }
+
+    /**
+     * Queue browser launches until capacity browsers are starting or ready
+     */
+    private synchronized void refill() {
+        while (enabled && !closed && prefetched.size() < capacity) {
+            prefetched.addLast(new PendingLaunch());
+        }
+    }
+
+    /**
+     * Runs on the executor; a browser finished after shutdown began is quit here instead of handed out
+     */
+    private Prefetched launch(PendingLaunch pending) {
+        if (closed || !pending.claim()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        WebDriver webDriver = factory.get();
+        long nanos = System.nanoTime() - start;
+        startupNanos.addAndGet(nanos);
+        consecutiveFailures.set(0);
+        if (closed) {
+            unused.incrementAndGet();
+            dispose(webDriver);
+            return null;
+        }
+        return new Prefetched(webDriver, nanos);
+    }
+
+    private void recordFailure(Throwable cause) {
+        failures.incrementAndGet();
+        int failuresInRow = consecutiveFailures.incrementAndGet();
+        logger.warn("Prefetched browser failed to start: {}", cause.getMessage());
+        if (maxFailures > 0 && failuresInRow >= maxFailures && enabled) {
+            enabled = false;
+            logger.warn("{} browser startups failed in a row, launching browsers on the scenario threads "
+                    + "from now on", failuresInRow);
+        }
+    }
+
+    private boolean isHealthy(WebDriver webDriver) {
+        try {
+            return !webDriver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void dispose(WebDriver webDriver) {
+        try {
+            disposer.accept(webDriver);
+        } catch (Exception e) {
+            logger.error("Error while quitting prefetched browser", e);
+        }
+    }
+
+    /**
+     * Stop prefetching, quit every browser that was not handed out and write the statistics
+     */
+    public void shutdown() {
+        closed = true;
+        executor.shutdown();
+        PendingLaunch next;
+        while ((next = prefetched.pollFirst()) != null) {
+            if (next.claim()) {
+                next.future.cancel(false);
+                continue;
+            }
+            try {
+                Prefetched browser = next.future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (browser != null) {
+                    unused.incrementAndGet();
+                    dispose(browser.webDriver);
+                }
+            } catch (ExecutionException e) {
+                failures.incrementAndGet();
+            } catch (TimeoutException e) {
+                logger.warn("Prefetched browser still starting after {} s, leaving it", SHUTDOWN_TIMEOUT_SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        executor.shutdownNow();
+        logStatistics();
+    }
+
+    /**
+     * Get prefetch counters and the startup time hidden from the scenario threads
+     */
+    public Map<String, Object> getStatistics() {
+        long served = ready.get() + waitedFor.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("capacity", capacity);
+        statistics.put("servedPrefetched", served);
+        statistics.put("servedReady", ready.get());
+        statistics.put("servedAfterWaiting", waitedFor.get());
+        statistics.put("launchedOnScenarioThread", misses.get());
+        statistics.put("claimedBeforeStart", notStarted.get());
+        statistics.put("startupFailures", failures.get());
+        statistics.put("unhealthyDiscarded", unhealthy.get());
+        statistics.put("unusedQuit", unused.get());
+        statistics.put("prefetchDisabled", !enabled);
+        statistics.put("backgroundStartupMs", startupNanos.get() / 1_000_000);
+        statistics.put("hiddenStartupMs", hiddenNanos.get() / 1_000_000);
+        statistics.put("scenarioWaitMs", waitNanos.get() / 1_000_000);
+        statistics.put("scenarioThreadStartupMs", missNanos.get() / 1_000_000);
+        return statistics;
+    }
+
+    private void logStatistics() {
+        Map<String, Object> statistics = getStatistics();
+        logger.info("Driver prefetch: {} browser(s) prefetched ({} ready, {} waited for), {} launched on scenario "
+                        + "threads, {} failed; {} ms of startup hidden, {} ms still waited, {} unused browser(s) quit",
+                statistics.get("servedPrefetched"), statistics.get("servedReady"),
+                statistics.get("servedAfterWaiting"), statistics.get("launchedOnScenarioThread"),
+                statistics.get("startupFailures"), statistics.get("hiddenStartupMs"),
+                statistics.get("scenarioWaitMs"), statistics.get("unusedQuit"));
+        Path file = Paths.get(ConfigReader.getDriverPrefetchStatsFile());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, new Json().toJson(statistics).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write driver prefetch statistics to {}", file, e);
+        }
+    }
+
+    /**
+     * A queued browser launch; whoever claims it first, a prefetch thread or a scenario, launches the browser
+     */
+    private final class PendingLaunch {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final Future<Prefetched> future = executor.submit(() -> launch(this));
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * A launched browser and how long its startup took
+     */
+    private static final class Prefetched {
+        private final WebDriver webDriver;
+        private final long startupNanos;
+
+        private Prefetched(WebDriver webDriver, long startupNanos) {
+            this.webDriver = webDriver;
+            this.startupNanos = startupNanos;
+        }
+    }
+}
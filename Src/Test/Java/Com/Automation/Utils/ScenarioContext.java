@@ -0,0 +1,59 @@
+package com.automation.utils;
+
+import io.cucumber.java.Scenario;
+
+/**
+ * Holds the scenario currently running on each thread, and which retry attempt it is
+ */
+public class ScenarioContext {
+    /**
+     * Name of the attachment that marks a scenario run as a retry attempt in the reports
+     */
+    public static final String RETRY_ATTEMPT_ATTACHMENT = "Retry attempt";
+
+    private static final ThreadLocal<Scenario> scenario = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> retryAttempt = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * Bind the scenario to the current thread
+     */
+    public static void set(Scenario current) {
+        scenario.set(current);
+    }
+
+    /**
+     * Get the scenario running on the current thread
+     */
+    public static Scenario get() {
+        return scenario.get();
+    }
+
+    /**
+     * Check if the current scenario carries the given tag, e.g. "@uiLogin"
+     */
+    public static boolean hasTag(String tag) {
+        Scenario current = scenario.get();
+        return current != null && current.getSourceTagNames().contains(tag);
+    }
+
+    /**
+     * Mark scenarios run on the current thread as the given retry attempt; 0 for a first run
+     */
+    public static void setRetryAttempt(int attempt) {
+        retryAttempt.set(attempt);
+    }
+
+    /**
+     * Get the retry attempt of the scenario running on the current thread; 0 for a first run
+     */
+    public static int getRetryAttempt() {
+        return retryAttempt.get();
+    }
+
+    /**
+     * Unbind the scenario from the current thread
+     */
+    public static void clear() {
+        scenario.remove();
+    }
+}
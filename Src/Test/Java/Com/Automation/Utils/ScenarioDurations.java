@@ -0,0 +1,135 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scenario durations from earlier runs, keyed by feature path and pickle line and kept in a local
+ * properties file (scenario.durations.file). A new measurement is averaged with the stored one,
+ * so a single slow or aborted run does not reorder everything.
+ */
+public class ScenarioDurations {
+    private static final Logger logger = LogManager.getLogger(ScenarioDurations.class);
+    private static final URI workingDirectory = Paths.get("").toAbsolutePath().toUri();
+
+    private final Path file;
+    private final Map<String, Long> storedMillis;
+    private final Map<String, Long> measuredMillis = new ConcurrentHashMap<>();
+
+    private ScenarioDurations(Path file, Map<String, Long> storedMillis) {
+        this.file = file;
+        this.storedMillis = storedMillis;
+    }
+
+    /**
+     * Load durations from scenario.durations.file; a missing file means no history
+     */
+    public static ScenarioDurations load() {
+        Path file = Paths.get(ConfigReader.getScenarioDurationsFile());
+        return new ScenarioDurations(file, read(file));
+    }
+
+    /**
+     * Get the history key of a scenario: its feature path relative to the working directory and its
+     * line, so checkouts at different paths share one history
+     */
+    public static String key(URI featureUri, int line) {
+        return workingDirectory.relativize(featureUri) + ":" + line;
+    }
+
+    /**
+     * Check if the scenario has a recorded duration
+     */
+    public boolean isKnown(String key) {
+        return storedMillis.containsKey(key);
+    }
+
+    /**
+     * Get the recorded duration of a scenario, or the average of all recorded durations
+     * (scenario.default.duration.ms when there is no history) for a new scenario
+     */
+    public long getExpectedMillis(String key) {
+        Long millis = storedMillis.get(key);
+        if (millis != null) {
+            return millis;
+        }
+        return (long) storedMillis.values().stream()
+                .mapToLong(Long::longValue)
+                .average()
+                .orElse(ConfigReader.getDefaultScenarioMillis());
+    }
+
+    /**
+     * Get number of scenarios with a recorded duration
+     */
+    public int size() {
+        return storedMillis.size();
+    }
+
+    /**
+     * Remember a duration measured in this run; save() writes it
+     */
+    public void record(String key, long millis) {
+        measuredMillis.put(key, millis);
+    }
+
+    /**
+     * Merge this run's measurements into the file, re-reading it first so concurrent JVMs do not
+     * overwrite each other's entries, and replace it atomically
+     */
+    public synchronized void save() {
+        if (measuredMillis.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = read(file);
+        measuredMillis.forEach((key, millis) ->
+                merged.merge(key, millis, (stored, measured) -> (stored + measured) / 2));
+        Properties properties = new Properties();
+        merged.forEach((key, millis) -> properties.setProperty(key, String.valueOf(millis)));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "scenario-durations", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Scenario durations in milliseconds");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write scenario durations to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable scenario durations {}: {}", file, e.getMessage());
+            return durations;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                durations.put(key, Long.parseLong(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring bad duration for {} in {}", key, file);
+            }
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,185 @@
+package com.automation.utils;
+
+import io.cucumber.java.Scenario;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenshot capture that keeps teardown short: the scenario thread only grabs and hashes the PNG,
+ * while downscaling, JPEG compression and writing to screenshot.dir happen on a bounded background
+ * executor. Identical frames are written once, and writing stops once screenshot.disk.budget.mb is used.
+ * The report link is attached before the file exists, since Cucumber only takes attachments while the
+ * scenario runs; when a write fails, the scenarios that link to the missing file are logged.
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+    private static final Path directory = Paths.get(ConfigReader.getScreenshotDir());
+    private static final Set<String> knownFrames = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Set<String>> pendingLinks = new ConcurrentHashMap<>();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong captured = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong overBudget = new AtomicLong();
+    private static final ThreadPoolExecutor executor = createExecutor();
+
+    static {
+        ShutdownHooks.register("screenshot-pipeline-shutdown", ScreenshotPipeline::shutdown);
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = ConfigReader.getScreenshotThreads();
+        // A full queue makes the scenario thread encode its own frame rather than drop it
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getScreenshotQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Capture the current thread's browser and attach a link to the compressed file to the scenario
+     */
+    public static void capture(Scenario scenario) {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            return;
+        }
+        if (bytesWritten.get() >= ConfigReader.getScreenshotDiskBudgetBytes()) {
+            overBudget.incrementAndGet();
+            logger.warn("Screenshot disk budget used up, not capturing '{}'", scenario.getName());
+            return;
+        }
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        captured.incrementAndGet();
+        String fileName = hash(png) + ".jpg";
+        String linkedFrom = scenario.getName() + " (" + scenario.getUri() + ":" + scenario.getLine() + ")";
+        if (knownFrames.add(fileName)) {
+            Set<String> scenarios = ConcurrentHashMap.newKeySet();
+            scenarios.add(linkedFrom);
+            pendingLinks.put(fileName, scenarios);
+            executor.execute(() -> write(png, directory.resolve(fileName)));
+        } else {
+            duplicates.incrementAndGet();
+            // Remember the scenario while the frame is still being written, in case that write fails
+            pendingLinks.computeIfPresent(fileName, (name, scenarios) -> {
+                scenarios.add(linkedFrom);
+                return scenarios;
+            });
+        }
+        scenario.attach(ConfigReader.getScreenshotRelativePath() + fileName, "text/uri-list", scenario.getName());
+    }
+
+    private static void write(byte[] png, Path file) {
+        String fileName = file.getFileName().toString();
+        try {
+            byte[] jpeg = compress(png);
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "screenshot", ".tmp");
+            Files.write(temp, jpeg);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            bytesWritten.addAndGet(jpeg.length);
+            pendingLinks.remove(fileName);
+        } catch (IOException | RuntimeException e) {
+            // Forget the frame, so the next capture of it writes the file instead of linking to nothing
+            knownFrames.remove(fileName);
+            logger.error("Failed to write screenshot {}; the report links to it from {}", file,
+                    pendingLinks.remove(fileName), e);
+        }
+    }
+
+    /**
+     * Downscale to screenshot.max.width and encode as JPEG; alpha is dropped since JPEG has none
+     */
+    private static byte[] compress(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int maxWidth = ConfigReader.getScreenshotMaxWidth();
+        double scale = source.getWidth() > maxWidth ? (double) maxWidth / source.getWidth() : 1.0;
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(ConfigReader.getScreenshotJpegQuality());
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Finish pending writes and log capture statistics
+     */
+    public static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Screenshot writes still pending at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (captured.get() > 0 || overBudget.get() > 0) {
+            logger.info("Screenshots: captured={}, duplicates={}, skipped over budget={}, written={} KB",
+                    captured.get(), duplicates.get(), overBudget.get(), bytesWritten.get() / 1024);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches authenticated browser state (cookies and web storage) per user and worker thread,
+ * so a login can be replayed without going through the login form
+ */
+public class SessionCache {
+    private static final Logger logger = LogManager.getLogger(SessionCache.class);
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(storage) { var result = {};"
+            + " for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); }"
+            + " return result; }"
+            + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });"
+            + "Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });";
+
+    /**
+     * Capture the current browser session for a user after a successful login
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(String username) {
+        WebDriver driver = DriverManager.getDriver();
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_STORAGE_SCRIPT);
+        Snapshot snapshot = new Snapshot(
+                new HashSet<>(driver.manage().getCookies()),
+                toStringMap((Map<String, Object>) storage.get("local")),
+                toStringMap((Map<String, Object>) storage.get("session")));
+        snapshots.put(key(username), snapshot);
+        logger.info("Captured session for user: {}", username);
+    }
+
+    /**
+     * Inject a cached session for a user into the browser.
+     * Returns false when there is no live snapshot; the caller should then log in through the UI.
+     */
+    public static boolean restore(String username) {
+        Snapshot snapshot = snapshots.get(key(username));
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired(ConfigReader.getSessionCacheTtlSeconds())) {
+            invalidate(username);
+            return false;
+        }
+        WebDriver driver = DriverManager.getDriver();
+        driver.get(ConfigReader.getAppUrl());
+        for (Cookie cookie : snapshot.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                snapshot.localStorage, snapshot.sessionStorage);
+        logger.info("Restored cached session for user: {}", username);
+        return true;
+    }
+
+    /**
+     * Drop the cached session for a user on the current thread
+     */
+    public static void invalidate(String username) {
+        snapshots.remove(key(username));
+    }
+
+    private static String key(String username) {
+        return username + "@" + Thread.currentThread().getId();
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Immutable snapshot of an authenticated session
+     */
+    private static final class Snapshot {
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final long capturedAt = System.currentTimeMillis();
+
+        private Snapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+            this.cookies = Collections.unmodifiableSet(cookies);
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+
+        private boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - capturedAt > ttlSeconds * 1000;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the framework's JVM exit tasks (statistics files, quitting browsers, flushing reports) and only
+ * then shuts Log4j down, so what they log at exit is still written. Log4j's own shutdown hook is
+ * disabled in Log4j2.xml; classes register their exit task here instead of calling addShutdownHook.
+ * The tasks run concurrently, each on its own thread, as separate shutdown hooks would.
+ */
+public class ShutdownHooks {
+    private static final Logger logger = LogManager.getLogger(ShutdownHooks.class);
+    private static final long TASK_TIMEOUT_SECONDS = 120;
+    private static final List<Thread> tasks = new ArrayList<>();
+    private static boolean shuttingDown;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ShutdownHooks::runAll, "shutdown-hooks"));
+    }
+
+    /**
+     * Make sure logging is shut down at JVM exit even if no task gets registered, e.g. in a main class
+     */
+    public static void install() {
+        // Loading the class registers the hook
+    }
+
+    /**
+     * Run task at JVM exit on a thread with the given name; a task registered while the JVM is already
+     * exiting runs right away
+     */
+    public static void register(String name, Runnable task) {
+        synchronized (tasks) {
+            if (!shuttingDown) {
+                tasks.add(new Thread(task, name));
+                return;
+            }
+        }
+        task.run();
+    }
+
+    private static void runAll() {
+        List<Thread> started;
+        synchronized (tasks) {
+            shuttingDown = true;
+            started = new ArrayList<>(tasks);
+        }
+        try {
+            started.forEach(Thread::start);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TASK_TIMEOUT_SECONDS);
+            for (Thread task : started) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis > 0) {
+                    task.join(remainingMillis);
+                }
+                if (task.isAlive()) {
+                    logger.warn("Exit task {} still running after {} s, shutting down logging anyway",
+                            task.getName(), TASK_TIMEOUT_SECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            LogManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Users and products from test.data.file (JSON) and, when set, the users and products sheets of
+ * test.data.excel. Data is parsed once per JVM on first use and then only read, so scenario threads
+ * share it without locking. Excel sheets are streamed with ExcelRowReader; an Excel row replaces a
+ * JSON entry with the same key.
+ */
+public class TestDataRepository {
+    private static final Logger logger = LogManager.getLogger(TestDataRepository.class);
+
+    private final Map<String, User> usersByKey;
+    private final Map<String, List<User>> usersByRole;
+    private final Map<String, Product> productsByName;
+
+    private TestDataRepository(Map<String, User> users, Map<String, Product> products) {
+        this.usersByKey = Collections.unmodifiableMap(users);
+        Map<String, List<User>> byRole = new HashMap<>();
+        users.values().forEach(user -> byRole.computeIfAbsent(user.getRole(), role -> new ArrayList<>()).add(user));
+        byRole.replaceAll((role, roleUsers) -> Collections.unmodifiableList(roleUsers));
+        this.usersByRole = Collections.unmodifiableMap(byRole);
+        this.productsByName = Collections.unmodifiableMap(products);
+    }
+
+    /**
+     * Get the repository, loading it on first use
+     */
+    public static TestDataRepository get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get a user by its key, e.g. "valid_user"
+     */
+    public User getUser(String key) {
+        User user = usersByKey.get(key);
+        if (user == null) {
+            throw new IllegalArgumentException("Unknown test data user '" + key + "', known: " + usersByKey.keySet());
+        }
+        return user;
+    }
+
+    /**
+     * Get every user with the given role; a user without a role has its key as role
+     */
+    public List<User> getUsersByRole(String role) {
+        return usersByRole.getOrDefault(role, List.of());
+    }
+
+    /**
+     * Get a product by its exact name
+     */
+    public Product getProduct(String name) {
+        Product product = productsByName.get(name);
+        if (product == null) {
+            throw new IllegalArgumentException("Unknown test data product '" + name + "'");
+        }
+        return product;
+    }
+
+    /**
+     * Get every product, in file order
+     */
+    public List<Product> getProducts() {
+        return List.copyOf(productsByName.values());
+    }
+
+    public int getUserCount() {
+        return usersByKey.size();
+    }
+
+    public int getProductCount() {
+        return productsByName.size();
+    }
+
+    /**
+     * Load the configured data files; used once by the holder
+     */
+    static TestDataRepository load(Path jsonFile, Path excelFile) {
+        long start = System.nanoTime();
+        Map<String, User> users = new LinkedHashMap<>();
+        Map<String, Product> products = new LinkedHashMap<>();
+        if (jsonFile != null) {
+            readJson(jsonFile, users, products);
+        }
+        if (excelFile != null) {
+            ExcelRowReader.read(excelFile, "users", row -> {
+                User user = new User(row.get("key"), row.get("username"), row.get("password"), row.get("role"));
+                users.put(user.getKey(), user);
+            });
+            ExcelRowReader.read(excelFile, "products", row -> {
+                Product product = new Product(row.get("name"), Double.parseDouble(row.get("price")));
+                products.put(product.getName(), product);
+            });
+        }
+        logger.info("Loaded test data: {} users, {} products in {} ms", users.size(), products.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new TestDataRepository(users, products);
+    }
+
+    private static void readJson(Path file, Map<String, User> users, Map<String, Product> products) {
+        JSONObject root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = (JSONObject) new JSONParser().parse(reader);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to read test data " + file, e);
+        }
+        JSONObject jsonUsers = (JSONObject) root.get("users");
+        if (jsonUsers != null) {
+            for (Object key : jsonUsers.keySet()) {
+                JSONObject user = (JSONObject) jsonUsers.get(key);
+                String role = (String) user.get("role");
+                users.put((String) key, new User((String) key, (String) user.get("username"),
+                        (String) user.get("password"), role != null ? role : (String) key));
+            }
+        }
+        JSONArray jsonProducts = (JSONArray) root.get("products");
+        if (jsonProducts != null) {
+            for (Object item : jsonProducts) {
+                JSONObject product = (JSONObject) item;
+                String name = (String) product.get("name");
+                products.put(name, new Product(name, ((Number) product.get("price")).doubleValue()));
+            }
+        }
+    }
+
+    /**
+     * Loads the repository on first access of get(); class initialization makes this thread-safe
+     */
+    private static final class Holder {
+        private static final TestDataRepository INSTANCE = load(
+                Paths.get(ConfigReader.getTestDataPath(), ConfigReader.getTestDataFile()),
+                ConfigReader.getTestDataExcel().isEmpty() ? null
+                        : Paths.get(ConfigReader.getTestDataPath(), ConfigReader.getTestDataExcel()));
+    }
+
+    /**
+     * Login credentials of one test user
+     */
+    public static final class User {
+        private final String key;
+        private final String username;
+        private final String password;
+        private final String role;
+
+        public User(String key, String username, String password, String role) {
+            this.key = key;
+            this.username = username;
+            this.password = password;
+            this.role = role == null || role.isEmpty() ? key : role;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        @Override
+        public String toString() {
+            return key + " (" + username + ", " + role + ")";
+        }
+    }
+
+    /**
+     * Catalogue entry of one product
+     */
+    public static final class Product {
+        private final String name;
+        private final double price;
+
+        public Product(String name, double price) {
+            this.name = name;
+            this.price = price;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        @Override
+        public String toString() {
+            return name + " ($" + price + ")";
+        }
+    }
+}
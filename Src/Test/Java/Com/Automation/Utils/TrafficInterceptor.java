@@ -0,0 +1,297 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DevTools network interception for one Chromium driver. Requests whose URL contains a
+ * network.block.patterns entry are answered with an empty response, and GET requests for static
+ * assets are served from an on-disk cache shared by every driver and scenario.
+ */
+public class TrafficInterceptor implements Filter {
+    private static final Logger logger = LogManager.getLogger(TrafficInterceptor.class);
+    private static final AssetCache cache = new AssetCache(Paths.get(ConfigReader.getNetworkCacheDir()));
+    private static final AtomicLong runRequests = new AtomicLong();
+    private static final AtomicLong runBlocked = new AtomicLong();
+    private static final AtomicLong runCacheHits = new AtomicLong();
+    private static final AtomicLong runBytesSaved = new AtomicLong();
+
+    static {
+        ShutdownHooks.register("traffic-interceptor-statistics", TrafficInterceptor::logStatistics);
+    }
+
+    private final List<String> blockPatterns = ConfigReader.getNetworkBlockPatterns();
+    private final List<String> cacheExtensions = ConfigReader.getNetworkCacheExtensions();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final long[] scenarioStart = new long[4];
+    private NetworkInterceptor networkInterceptor;
+
+    /**
+     * Start intercepting the driver's traffic, or return null when interception is disabled
+     * or the driver has no DevTools connection (e.g. Firefox)
+     */
+    public static TrafficInterceptor attach(WebDriver webDriver) {
+        if (!ConfigReader.isNetworkInterceptionEnabled()) {
+            return null;
+        }
+        if (!(webDriver instanceof HasDevTools)) {
+            logger.warn("Network interception needs DevTools; not available for {}",
+                    webDriver.getClass().getSimpleName());
+            return null;
+        }
+        TrafficInterceptor interceptor = new TrafficInterceptor();
+        try {
+            interceptor.networkInterceptor = new NetworkInterceptor(webDriver, interceptor);
+            return interceptor;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to start network interception: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stop intercepting; the counters stay readable
+     */
+    public void close() {
+        try {
+            networkInterceptor.close();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to stop network interception: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> handle(request, next);
+    }
+
+    private HttpResponse handle(HttpRequest request, HttpHandler next) {
+        count(requests, runRequests, 1);
+        String url = request.getUri();
+        if (isBlocked(url)) {
+            count(blocked, runBlocked, 1);
+            return new HttpResponse().setStatus(204);
+        }
+        if (request.getMethod() != HttpMethod.GET || !isStaticAsset(url)) {
+            return next.execute(request);
+        }
+
+        CachedAsset cached = cache.get(url);
+        if (cached != null) {
+            count(cacheHits, runCacheHits, 1);
+            count(bytesSaved, runBytesSaved, cached.body.length);
+            return cached.toResponse();
+        }
+        HttpResponse response = next.execute(request);
+        if (response != NetworkInterceptor.PROCEED_WITH_REQUEST && response.getStatus() == 200
+                && !String.valueOf(response.getHeader("Cache-Control")).contains("no-store")) {
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+            cache.put(url, new CachedAsset(response.getHeader("Content-Type"),
+                    response.getHeader("Access-Control-Allow-Origin"), body));
+        }
+        return response;
+    }
+
+    private boolean isBlocked(String url) {
+        return blockPatterns.stream().anyMatch(url::contains);
+    }
+
+    private boolean isStaticAsset(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (path == null) {
+            return false;
+        }
+        String lowerPath = path.toLowerCase(Locale.ROOT);
+        return cacheExtensions.stream().anyMatch(lowerPath::endsWith);
+    }
+
+    private static void count(AtomicLong driverCounter, AtomicLong runCounter, long amount) {
+        driverCounter.addAndGet(amount);
+        runCounter.addAndGet(amount);
+    }
+
+    /**
+     * Mark the start of a scenario; a driver serves one scenario at a time
+     */
+    public void startScenario() {
+        scenarioStart[0] = requests.get();
+        scenarioStart[1] = blocked.get();
+        scenarioStart[2] = cacheHits.get();
+        scenarioStart[3] = bytesSaved.get();
+    }
+
+    /**
+     * Get requests seen, blocked and served from cache since startScenario, as a report summary
+     */
+    public String getScenarioSummary() {
+        long scenarioBlocked = blocked.get() - scenarioStart[1];
+        long scenarioHits = cacheHits.get() - scenarioStart[2];
+        return "Requests intercepted: " + (requests.get() - scenarioStart[0]) + "\n"
+                + "Requests saved: " + (scenarioBlocked + scenarioHits)
+                + " (" + scenarioBlocked + " blocked, " + scenarioHits + " served from cache)\n"
+                + "Bytes saved by cache: " + (bytesSaved.get() - scenarioStart[3]) + "\n";
+    }
+
+    /**
+     * Log run-wide interception counters
+     */
+    public static void logStatistics() {
+        if (runRequests.get() == 0) {
+            return;
+        }
+        logger.info("Network interception: requests={}, blocked={}, cache hits={}, bytes saved={}",
+                runRequests.get(), runBlocked.get(), runCacheHits.get(), runBytesSaved.get());
+    }
+
+    /**
+     * Static asset body with the headers needed to replay it
+     */
+    private static final class CachedAsset {
+        private final String contentType;
+        private final String allowOrigin;
+        private final byte[] body;
+
+        private CachedAsset(String contentType, String allowOrigin, byte[] body) {
+            this.contentType = contentType;
+            this.allowOrigin = allowOrigin;
+            this.body = body;
+        }
+
+        private HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(200).setContent(Contents.bytes(body));
+            if (contentType != null) {
+                response.setHeader("Content-Type", contentType);
+            }
+            if (allowOrigin != null) {
+                response.setHeader("Access-Control-Allow-Origin", allowOrigin);
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Assets kept in memory and in network.cache.dir, one body file and one header file per URL
+     */
+    private static final class AssetCache {
+        private final Path directory;
+        private final Map<String, CachedAsset> assets = new ConcurrentHashMap<>();
+
+        private AssetCache(Path directory) {
+            this.directory = directory;
+        }
+
+        private CachedAsset get(String url) {
+            CachedAsset asset = assets.get(url);
+            if (asset == null) {
+                asset = load(url);
+                if (asset != null) {
+                    assets.putIfAbsent(url, asset);
+                }
+            }
+            return asset;
+        }
+
+        private void put(String url, CachedAsset asset) {
+            if (assets.putIfAbsent(url, asset) != null) {
+                return;
+            }
+            String key = hash(url);
+            Properties headers = new Properties();
+            headers.setProperty("url", url);
+            if (asset.contentType != null) {
+                headers.setProperty("content-type", asset.contentType);
+            }
+            if (asset.allowOrigin != null) {
+                headers.setProperty("access-control-allow-origin", asset.allowOrigin);
+            }
+            try {
+                Files.createDirectories(directory);
+                Path bodyTemp = Files.createTempFile(directory, key, ".tmp");
+                Files.write(bodyTemp, asset.body);
+                Files.move(bodyTemp, directory.resolve(key + ".body"),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Path headersTemp = Files.createTempFile(directory, key, ".tmp");
+                try (OutputStream out = Files.newOutputStream(headersTemp)) {
+                    headers.store(out, null);
+                }
+                Files.move(headersTemp, directory.resolve(key + ".properties"),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.warn("Failed to write {} to the network cache: {}", url, e.getMessage());
+            }
+        }
+
+        /**
+         * Read an asset cached by an earlier scenario or run; the header file is written last
+         */
+        private CachedAsset load(String url) {
+            String key = hash(url);
+            Path headersFile = directory.resolve(key + ".properties");
+            Path bodyFile = directory.resolve(key + ".body");
+            if (!Files.exists(headersFile) || !Files.exists(bodyFile)) {
+                return null;
+            }
+            Properties headers = new Properties();
+            try (InputStream in = Files.newInputStream(headersFile)) {
+                headers.load(in);
+                if (!url.equals(headers.getProperty("url"))) {
+                    return null;
+                }
+                return new CachedAsset(headers.getProperty("content-type"),
+                        headers.getProperty("access-control-allow-origin"), Files.readAllBytes(bodyFile));
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable network cache entry for {}: {}", url, e.getMessage());
+                return null;
+            }
+        }
+
+        private static String hash(String url) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder();
+                for (byte b : digest) {
+                    hex.append(String.format("%02x", b));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
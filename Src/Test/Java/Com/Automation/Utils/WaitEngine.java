@@ -0,0 +1,85 @@
+package com.automation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Explicit wait primitives. Drivers run without an implicit wait, so every wait goes
+ * through here and its time is accounted to the scenario running on the current thread.
+ */
+public class WaitEngine {
+    private static final ThreadLocal<long[]> scenarioWaitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Wait until the condition holds, failing with TimeoutException after the timeout
+     */
+    public static <T> T until(WebDriver driver, Duration timeout, ExpectedCondition<T> condition) {
+        long start = System.nanoTime();
+        try {
+            return new WebDriverWait(driver, timeout, getPollingInterval()).until(condition);
+        } finally {
+            scenarioWaitNanos.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Check if an element is visible within the timeout
+     */
+    public static boolean isVisible(WebDriver driver, By locator, Duration timeout) {
+        return holdsWithin(driver, timeout, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Check if an element is missing or hidden within the timeout
+     */
+    public static boolean isAbsent(WebDriver driver, By locator, Duration timeout) {
+        return holdsWithin(driver, timeout, ExpectedConditions.invisibilityOfElementLocated(locator));
+    }
+
+    private static boolean holdsWithin(WebDriver driver, Duration timeout, ExpectedCondition<?> condition) {
+        try {
+            until(driver, timeout, condition);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the default timeout for conditions expected to hold
+     */
+    public static Duration getExplicitTimeout() {
+        return Duration.ofSeconds(ConfigReader.getExplicitWait());
+    }
+
+    /**
+     * Get the fast-fail budget for checks whose expected answer may be "no"
+     */
+    public static Duration getNegativeTimeout() {
+        return Duration.ofMillis(ConfigReader.getNegativeCheckTimeoutMillis());
+    }
+
+    private static Duration getPollingInterval() {
+        return Duration.ofMillis(ConfigReader.getWaitPollingMillis());
+    }
+
+    /**
+     * Get time spent waiting by the scenario on the current thread, in milliseconds
+     */
+    public static long getScenarioWaitMillis() {
+        return scenarioWaitNanos.get()[0] / 1_000_000;
+    }
+
+    /**
+     * Reset the wait time accounted to the current thread's scenario
+     */
+    public static void resetScenarioWaitTime() {
+        scenarioWaitNanos.get()[0] = 0;
+    }
+}
@@ -1,7 +1,9 @@
 package com.automation.stepdefinitions;
 
 import com.automation.pages.LoginPage;
+import com.automation.pages.PageRegistry;
 import com.automation.pages.ProductsPage;
+import com.automation.utils.TestDataRepository;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -13,53 +15,66 @@ import org.testng.Assert;
  */
 public class LoginStepDefinitions {
 
-    private LoginPage loginPage;
-    private ProductsPage productsPage;
+    private final PageRegistry pages;
 
-    public LoginStepDefinitions() {
-        this.loginPage = new LoginPage();
-        this.productsPage = new ProductsPage();
+    public LoginStepDefinitions(PageRegistry pages) {
+        this.pages = pages;
+    }
+
+    private LoginPage loginPage() {
+        return pages.get(LoginPage.class);
+    }
+
+    private ProductsPage productsPage() {
+        return pages.get(ProductsPage.class);
     }
 
     @Given("user is on the login page")
     public void userIsOnTheLoginPage() {
-        loginPage.navigateToLoginPage();
-        Assert.assertTrue(loginPage.isOnLoginPage(), "User is not on login page");
+        loginPage().navigateToLoginPage();
+        Assert.assertTrue(loginPage().isOnLoginPage(), "User is not on login page");
     }
 
     @When("user enters username {string}")
     public void userEntersUsername(String username) {
-        loginPage.enterUsername(username);
+        loginPage().enterUsername(username);
     }
 
     @And("user enters password {string}")
     public void userEntersPassword(String password) {
-        loginPage.enterPassword(password);
+        loginPage().enterPassword(password);
+    }
+
+    @When("user enters credentials of user {string}")
+    public void userEntersCredentialsOfUser(String userKey) {
+        TestDataRepository.User user = TestDataRepository.get().getUser(userKey);
+        loginPage().enterUsername(user.getUsername());
+        loginPage().enterPassword(user.getPassword());
     }
 
     @And("user clicks on login button")
     public void userClicksOnLoginButton() {
-        loginPage.clickLoginButton();
+        loginPage().clickLoginButton();
     }
 
     @Then("user should be redirected to products page")
     public void userShouldBeRedirectedToProductsPage() {
-        Assert.assertTrue(productsPage.isOnProductsPage(), 
+        Assert.assertTrue(productsPage().isOnProductsPage(), 
                 "User is not redirected to products page");
     }
 
     @And("user should see the products page title")
     public void userShouldSeeTheProductsPageTitle() {
-        String pageTitle = productsPage.getPageTitle();
+        String pageTitle = productsPage().getPageTitle();
         Assert.assertEquals(pageTitle, "Products", 
                 "Products page title does not match");
     }
 
     @Then("user should see error message {string}")
     public void userShouldSeeErrorMessage(String expectedErrorMessage) {
-        Assert.assertTrue(loginPage.isErrorMessageDisplayed(), 
+        Assert.assertTrue(loginPage().isErrorMessageDisplayed(), 
                 "Error message is not displayed");
-        String actualErrorMessage = loginPage.getErrorMessage();
+        String actualErrorMessage = loginPage().getErrorMessage();
         Assert.assertTrue(actualErrorMessage.contains(expectedErrorMessage), 
                 "Error message does not match. Expected: " + expectedErrorMessage + 
                 ", Actual: " + actualErrorMessage);
@@ -69,11 +84,11 @@ public class LoginStepDefinitions {
     public void userShouldSee(String result) {
         switch (result.toLowerCase()) {
             case "success":
-                Assert.assertTrue(productsPage.isOnProductsPage(), 
+                Assert.assertTrue(productsPage().isOnProductsPage(), 
                         "Login was not successful");
                 break;
             case "locked":
-                Assert.assertTrue(loginPage.isErrorMessageDisplayed(), 
+                Assert.assertTrue(loginPage().isErrorMessageDisplayed(), 
                         "Error message not displayed for locked user");
                 break;
             default:
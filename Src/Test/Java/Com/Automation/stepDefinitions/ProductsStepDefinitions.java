@@ -1,69 +1,133 @@
 package com.automation.stepdefinitions;
 
 import com.automation.pages.CartPage;
+import com.automation.pages.ItemSnapshot;
 import com.automation.pages.LoginPage;
+import com.automation.pages.PageRegistry;
 import com.automation.pages.ProductsPage;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ScenarioContext;
+import com.automation.utils.SessionCache;
+import com.automation.utils.TestDataRepository;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Step Definitions for Products Feature
  */
 public class ProductsStepDefinitions {
+    private static final Logger logger = LogManager.getLogger(ProductsStepDefinitions.class);
+
+    private final PageRegistry pages;
+
+    public ProductsStepDefinitions(PageRegistry pages) {
+        this.pages = pages;
+    }
 
-    private LoginPage loginPage;
-    private ProductsPage productsPage;
-    private CartPage cartPage;
+    private LoginPage loginPage() {
+        return pages.get(LoginPage.class);
+    }
+
+    private ProductsPage productsPage() {
+        return pages.get(ProductsPage.class);
+    }
 
-    public ProductsStepDefinitions() {
-        this.loginPage = new LoginPage();
-        this.productsPage = new ProductsPage();
-        this.cartPage = new CartPage();
+    private CartPage cartPage() {
+        return pages.get(CartPage.class);
     }
 
     @Given("user is logged in with username {string} and password {string}")
     public void userIsLoggedInWithUsernameAndPassword(String username, String password) {
-        loginPage.navigateToLoginPage();
-        loginPage.login(username, password);
-        Assert.assertTrue(productsPage.isOnProductsPage(), 
+        boolean useSessionCache = ConfigReader.isSessionCacheEnabled() && !ScenarioContext.hasTag("@uiLogin");
+        if (useSessionCache && SessionCache.restore(username)) {
+            productsPage().navigateToProductsPage();
+            // A rejected session lands on the login page, so do not wait the full timeout for the title
+            if (productsPage().isProductsPageShown()) {
+                return;
+            }
+            logger.warn("Cached session rejected for user {}, falling back to UI login", username);
+            SessionCache.invalidate(username);
+        }
+        loginPage().navigateToLoginPage();
+        loginPage().login(username, password);
+        Assert.assertTrue(productsPage().isOnProductsPage(), 
                 "Login failed - user not on products page");
+        if (useSessionCache) {
+            SessionCache.capture(username);
+        }
+    }
+
+    @Given("user is logged in as user {string}")
+    public void userIsLoggedInAsUser(String userKey) {
+        TestDataRepository.User user = TestDataRepository.get().getUser(userKey);
+        userIsLoggedInWithUsernameAndPassword(user.getUsername(), user.getPassword());
     }
 
     @When("user is on products page")
     public void userIsOnProductsPage() {
-        Assert.assertTrue(productsPage.isOnProductsPage(), 
+        Assert.assertTrue(productsPage().isOnProductsPage(), 
                 "User is not on products page");
     }
 
     @Then("user should see list of products")
     public void userShouldSeeListOfProducts() {
-        Assert.assertTrue(productsPage.areProductsDisplayed(), 
+        Assert.assertTrue(productsPage().areProductsDisplayed(), 
                 "Products are not displayed");
-        Assert.assertTrue(productsPage.getProductCount() > 0, 
+        Assert.assertTrue(productsPage().getProductCount() > 0, 
                 "No products found on the page");
     }
 
     @And("products should have name and price")
     public void productsShouldHaveNameAndPrice() {
-        Assert.assertFalse(productsPage.getAllProductNames().isEmpty(), 
+        Assert.assertFalse(productsPage().getAllProductNames().isEmpty(), 
                 "Product names are not displayed");
-        Assert.assertFalse(productsPage.getAllProductPrices().isEmpty(), 
+        Assert.assertFalse(productsPage().getAllProductPrices().isEmpty(), 
                 "Product prices are not displayed");
     }
 
+    @And("product {string} should be listed at its test data price")
+    public void productShouldBeListedAtItsTestDataPrice(String productName) {
+        double expectedPrice = TestDataRepository.get().getProduct(productName).getPrice();
+        ItemSnapshot product = productsPage().getProductSnapshots().stream()
+                .filter(item -> item.getName().equals(productName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Product not listed: " + productName));
+        Assert.assertEquals(product.getPrice(), expectedPrice, 0.001, "Price of " + productName);
+    }
+
     @And("user adds {string} to cart")
     public void userAddsToCart(String productName) {
-        productsPage.addProductToCart(productName);
+        productsPage().addProductToCart(productName);
+    }
+
+    @Given("cart contains {string}")
+    public void cartContains(String productName) {
+        productsPage().seedCart(Collections.singletonList(productName));
+    }
+
+    @Given("cart contains products:")
+    public void cartContainsProducts(List<String> productNames) {
+        productsPage().seedCart(productNames);
+    }
+
+    @Given("cart contains the first {int} products")
+    public void cartContainsTheFirstProducts(int count) {
+        productsPage().seedCartWithFirstProducts(count);
     }
 
     @Then("cart badge should show {int} item")
     public void cartBadgeShouldShowItem(int expectedCount) {
-        Assert.assertTrue(productsPage.isCartBadgeDisplayed(), 
+        Assert.assertTrue(productsPage().isCartBadgeDisplayed(), 
                 "Cart badge is not displayed");
-        String actualCount = productsPage.getCartBadgeCount();
+        String actualCount = productsPage().getCartBadgeCount();
         Assert.assertEquals(actualCount, String.valueOf(expectedCount), 
                 "Cart badge count does not match");
     }
@@ -73,33 +137,44 @@ public class ProductsStepDefinitions {
         cartBadgeShouldShowItem(expectedCount);
     }
 
+    @Then("cart badge should not be shown")
+    public void cartBadgeShouldNotBeShown() {
+        Assert.assertTrue(productsPage().isCartBadgeAbsent(),
+                "Cart badge is still displayed");
+    }
+
     @And("user navigates to cart page")
     public void userNavigatesToCartPage() {
-        productsPage.clickCartIcon();
-        Assert.assertTrue(cartPage.isOnCartPage(), 
+        productsPage().clickCartIcon();
+        Assert.assertTrue(cartPage().isOnCartPage(), 
                 "User is not on cart page");
     }
 
     @And("user should see {string} in cart")
     public void userShouldSeeInCart(String productName) {
-        Assert.assertTrue(cartPage.isProductInCart(productName), 
+        Assert.assertTrue(cartPage().isProductInCart(productName), 
                 "Product not found in cart: " + productName);
     }
 
+    @And("user removes {string} from cart")
+    public void userRemovesFromCart(String productName) {
+        cartPage().removeProductFromCart(productName);
+    }
+
+    @Then("cart page should list {int} items")
+    public void cartPageShouldListItems(int expectedCount) {
+        Assert.assertEquals(cartPage().getCartItemsCount(), expectedCount,
+                "Cart item count does not match");
+    }
+
     @And("user sorts products by {string}")
     public void userSortsProductsBy(String sortOption) {
-        productsPage.selectSortOption(sortOption);
+        productsPage().selectSortOption(sortOption);
     }
 
     @Then("products should be sorted by price in ascending order")
     public void productsShouldBeSortedByPriceInAscendingOrder() {
-        // Wait a moment for sorting to complete
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        Assert.assertTrue(productsPage.areProductsSortedByPriceAscending(), 
+        Assert.assertTrue(productsPage().waitForProductsSortedByPriceAscending(), 
                 "Products are not sorted by price in ascending order");
     }
 }
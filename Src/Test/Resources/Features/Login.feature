@@ -9,8 +9,7 @@ Feature: Login Functionality
 
   @smoke @positive
   Scenario: Successful login with valid credentials
-    When user enters username "standard_user"
-    And user enters password "secret_sauce"
+    When user enters credentials of user "valid_user"
     And user clicks on login button
     Then user should be redirected to products page
     And user should see the products page title
@@ -35,14 +34,12 @@ Feature: Login Functionality
     Then user should see error message "Epic sadface: Username is required"
 
   @datadriven
-  Scenario Outline: Login with multiple users
+  Scenario Outline: Login with multiple users as <username>
     When user enters username "<username>"
     And user enters password "<password>"
     And user clicks on login button
     Then user should see "<result>"
 
+    @data:login-users.csv
     Examples:
-      | username        | password     | result  |
-      | standard_user   | secret_sauce | success |
-      | locked_out_user | secret_sauce | locked  |
-      | problem_user    | secret_sauce | success |
+      | username | password | result |
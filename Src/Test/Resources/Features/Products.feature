@@ -5,13 +5,14 @@ Feature: Product Management
   So that I can add items to my cart
 
   Background:
-    Given user is logged in with username "standard_user" and password "secret_sauce"
+    Given user is logged in as user "valid_user"
 
   @smoke
   Scenario: View products on products page
     When user is on products page
     Then user should see list of products
     And products should have name and price
+    And product "Sauce Labs Backpack" should be listed at its test data price
 
   @cart
   Scenario: Add product to cart
@@ -28,6 +29,30 @@ Feature: Product Management
     And user adds "Sauce Labs Bike Light" to cart
     Then cart badge should show 2 items
 
+  @cart
+  Scenario: Remove the only product from cart
+    When user is on products page
+    And user adds "Sauce Labs Backpack" to cart
+    And user navigates to cart page
+    And user removes "Sauce Labs Backpack" from cart
+    Then cart badge should not be shown
+
+  @cart
+  Scenario: Cart pre-filled without the add-to-cart UI
+    Given cart contains products:
+      | Sauce Labs Backpack   |
+      | Sauce Labs Bike Light |
+    Then cart badge should show 2 items
+    And user navigates to cart page
+    And user should see "Sauce Labs Bike Light" in cart
+
+  @cart @local
+  Scenario: Large cart is set up in one step
+    Given cart contains the first 100 products
+    Then cart badge should show 100 items
+    And user navigates to cart page
+    And cart page should list 100 items
+
   @sort
   Scenario: Sort products by price low to high
     When user is on products page
@@ -0,0 +1,202 @@
+(function () {
+    'use strict';
+
+    var CART_KEY = 'cart-contents';
+    var SESSION_COOKIE = 'session-username';
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+        'performance_glitch_user', 'error_user', 'visual_user'];
+
+    function sessionUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function readCart() {
+        try {
+            var ids = JSON.parse(window.localStorage.getItem(CART_KEY));
+            return Array.isArray(ids) ? ids : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function writeCart(ids) {
+        window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        renderBadge();
+    }
+
+    function renderBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var badge = link.querySelector('.shopping_cart_badge');
+        var count = readCart().length;
+        if (count === 0) {
+            if (badge) {
+                link.removeChild(badge);
+            }
+            return;
+        }
+        if (!badge) {
+            badge = document.createElement('span');
+            badge.className = 'shopping_cart_badge';
+            badge.setAttribute('data-test', 'shopping-cart-badge');
+            link.appendChild(badge);
+        }
+        badge.textContent = String(count);
+    }
+
+    function showLoginError(message) {
+        var container = document.querySelector('.error-message-container');
+        container.className = 'error-message-container error';
+        container.innerHTML = '';
+        var heading = document.createElement('h3');
+        heading.setAttribute('data-test', 'error');
+        heading.textContent = message;
+        container.appendChild(heading);
+    }
+
+    function initLogin() {
+        var params = new URLSearchParams(window.location.search);
+        if (params.get('error')) {
+            showLoginError("Epic sadface: You can only access '" + params.get('error') + "' when you are logged in.");
+        }
+        document.getElementById('login-form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            if (!username) {
+                showLoginError('Epic sadface: Username is required');
+            } else if (!password) {
+                showLoginError('Epic sadface: Password is required');
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                showLoginError('Epic sadface: Username and password do not match any user in this service');
+            } else if (username === 'locked_out_user') {
+                showLoginError('Epic sadface: Sorry, this user has been locked out.');
+            } else {
+                document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/';
+                window.location.href = '/inventory.html';
+            }
+        });
+    }
+
+    function setButtonState(button, inCart) {
+        var slug = button.getAttribute('data-slug');
+        button.id = (inCart ? 'remove-' : 'add-to-cart-') + slug;
+        button.textContent = inCart ? 'Remove' : 'Add to cart';
+        button.className = inCart
+            ? 'btn btn_secondary btn_small btn_inventory'
+            : 'btn btn_primary btn_small btn_inventory';
+    }
+
+    function sortInventory(mode) {
+        var list = document.querySelector('.inventory_list');
+        var items = Array.prototype.slice.call(list.querySelectorAll('.inventory_item'));
+        function name(item) {
+            return item.querySelector('.inventory_item_name').textContent;
+        }
+        function price(item) {
+            return parseFloat(item.querySelector('.inventory_item_price').textContent.replace('$', ''));
+        }
+        items.sort(function (a, b) {
+            switch (mode) {
+                case 'za':
+                    return name(b).localeCompare(name(a));
+                case 'lohi':
+                    return price(a) - price(b);
+                case 'hilo':
+                    return price(b) - price(a);
+                default:
+                    return name(a).localeCompare(name(b));
+            }
+        });
+        var fragment = document.createDocumentFragment();
+        items.forEach(function (item) {
+            fragment.appendChild(item);
+        });
+        list.appendChild(fragment);
+    }
+
+    function initInventory() {
+        var cart = readCart();
+        Array.prototype.forEach.call(document.querySelectorAll('.btn_inventory'), function (button) {
+            setButtonState(button, cart.indexOf(Number(button.getAttribute('data-id'))) >= 0);
+        });
+        document.querySelector('.inventory_list').addEventListener('click', function (event) {
+            var button = event.target.closest('.btn_inventory');
+            if (!button) {
+                return;
+            }
+            var id = Number(button.getAttribute('data-id'));
+            var ids = readCart();
+            var index = ids.indexOf(id);
+            if (index >= 0) {
+                ids.splice(index, 1);
+            } else {
+                ids.push(id);
+            }
+            writeCart(ids);
+            setButtonState(button, index < 0);
+        });
+        document.querySelector('.product_sort_container').addEventListener('change', function (event) {
+            sortInventory(event.target.value);
+        });
+    }
+
+    function initCart() {
+        var catalogue = JSON.parse(document.getElementById('catalogue').textContent);
+        var byId = {};
+        catalogue.forEach(function (product) {
+            byId[product.id] = product;
+        });
+        var list = document.querySelector('.cart_list');
+        readCart().forEach(function (id) {
+            var product = byId[id];
+            if (!product) {
+                return;
+            }
+            var row = document.createElement('div');
+            row.className = 'cart_item';
+            row.innerHTML = '<div class="cart_quantity">1</div>'
+                + '<div class="cart_item_label"><a href="#" id="item_' + product.id + '_title_link">'
+                + '<div class="inventory_item_name"></div></a>'
+                + '<div class="item_pricebar"><div class="inventory_item_price">$' + product.price + '</div>'
+                + '<button class="btn btn_secondary btn_small cart_button"></button></div></div>';
+            row.querySelector('.inventory_item_name').textContent = product.name;
+            var button = row.querySelector('button');
+            button.id = 'remove-' + product.slug;
+            button.textContent = 'Remove';
+            button.addEventListener('click', function () {
+                writeCart(readCart().filter(function (cartId) {
+                    return cartId !== product.id;
+                }));
+                list.removeChild(row);
+            });
+            list.appendChild(row);
+        });
+        document.getElementById('continue-shopping').addEventListener('click', function () {
+            window.location.href = '/inventory.html';
+        });
+        document.getElementById('checkout').addEventListener('click', function () {
+            window.location.href = '/checkout-step-one.html';
+        });
+    }
+
+    var page = document.body.getAttribute('data-page');
+    if (page === 'login') {
+        initLogin();
+        return;
+    }
+    if (!sessionUser()) {
+        window.location.href = '/?error=' + encodeURIComponent(window.location.pathname);
+        return;
+    }
+    renderBadge();
+    if (page === 'inventory') {
+        initInventory();
+    } else if (page === 'cart') {
+        initCart();
+    }
+})();
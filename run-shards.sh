@@ -0,0 +1,61 @@
+#!/bin/bash
+# Run every shard of the regression suite one after the other and check that together
+# they ran each scenario exactly once.
+#
+# Usage: ./run-shards.sh [shard total] [extra maven arguments...]
+#   ./run-shards.sh 4
+#   ./run-shards.sh 4 -Dcucumber.execution.dry-run=true   # Check the split without browsers
+#   ./run-shards.sh 4 -Dshard.balance=true
+
+TOTAL=${1:-2}
+shift
+RUNNER=TestRunner
+MANIFEST_DIR=target/shards
+
+echo "========================================"
+echo "Running $TOTAL shards"
+echo "========================================"
+
+mvn -q clean
+for INDEX in $(seq 1 "$TOTAL"); do
+    echo ""
+    echo "Running shard $INDEX of $TOTAL..."
+    mvn test -Dshard.index="$INDEX" -Dshard.total="$TOTAL" "$@"
+done
+
+echo ""
+echo "Checking shard coverage..."
+PLANS=("$MANIFEST_DIR/$RUNNER"-shard-*-of-"$TOTAL".plan)
+if [ ! -f "${PLANS[0]}" ]; then
+    echo "FAILED: no shard manifests found in $MANIFEST_DIR"
+    exit 1
+fi
+
+# Every shard must have computed the same split
+for PLAN in "${PLANS[@]}"; do
+    if ! cmp -s "$PLAN" "${PLANS[0]}"; then
+        echo "FAILED: $PLAN differs from ${PLANS[0]}; shards did not agree on the split"
+        exit 1
+    fi
+done
+if [ "${#PLANS[@]}" -ne "$TOTAL" ]; then
+    echo "FAILED: found ${#PLANS[@]} shard manifests, expected $TOTAL"
+    exit 1
+fi
+
+EXPECTED=$(cut -d' ' -f2- "${PLANS[0]}" | sort)
+COVERED=$(cat "$MANIFEST_DIR/$RUNNER"-shard-*-of-"$TOTAL".txt | sort)
+DUPLICATES=$(echo "$COVERED" | uniq -d)
+if [ -n "$DUPLICATES" ]; then
+    echo "FAILED: scenarios run by more than one shard:"
+    echo "$DUPLICATES"
+    exit 1
+fi
+if [ "$EXPECTED" != "$COVERED" ]; then
+    echo "FAILED: scenarios not run by any shard:"
+    comm -23 <(echo "$EXPECTED") <(echo "$COVERED")
+    exit 1
+fi
+
+echo "All $(echo "$EXPECTED" | wc -l) scenarios ran exactly once across $TOTAL shards"
+echo "Reports: target/cucumber-reports/cucumber-shard-<index>-of-$TOTAL.{html,json,xml}"